@@ -0,0 +1,24 @@
+package com.satellitesystem.collisiondetection.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+//turns on hibernate jdbc batching so screening results go out in a few round trips instead of one per row
+//(needs sequence ids on the entities, identity columns force hibernate to insert row by row)
+@Configuration
+public class PersistenceConfig {
+
+    @Value("${collision.persistence.batch-size:500}")
+    private int batchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer batchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.satellitesystem.collisiondetection.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+//enables @Scheduled jobs (incremental re-screening of catalog changes)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
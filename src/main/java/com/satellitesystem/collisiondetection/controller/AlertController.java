@@ -2,8 +2,16 @@ package com.satellitesystem.collisiondetection.controller;
 
 import com.satellitesystem.collisiondetection.model.Alert;
 import com.satellitesystem.collisiondetection.service.AlertService;
+import com.satellitesystem.collisiondetection.service.AlertSummary;
+import com.satellitesystem.collisiondetection.service.AlertStreamService;
+import com.satellitesystem.collisiondetection.service.KeysetPage;
+import com.satellitesystem.collisiondetection.service.NdjsonExportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @RestController
@@ -13,14 +21,23 @@ public class AlertController {
     @Autowired
     private AlertService service;
 
+    @Autowired
+    private AlertStreamService streamService;
+
+    @Autowired
+    private NdjsonExportService exportService;
+
+    //keyset paged: GET http://localhost:8080/api/alerts?limit=100, then ?after=<nextAfter> for the next page
     @GetMapping
-    public List<Alert> getAllAlerts() {
-        return service.getAllAlerts();
+    public KeysetPage<AlertSummary> getAllAlerts(@RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) Integer limit) {
+        return service.getAlerts(after, limit);
     }
 
     @GetMapping("/unacknowledged")
-    public List<Alert> getUnacknowledgedAlerts() {
-        return service.getUnacknowledgedAlerts();
+    public KeysetPage<AlertSummary> getUnacknowledgedAlerts(@RequestParam(required = false) Long after,
+                                                            @RequestParam(required = false) Integer limit) {
+        return service.getUnacknowledgedAlerts(after, limit);
     }
 
     @GetMapping("/recent")
@@ -28,6 +45,15 @@ public class AlertController {
         return service.getRecentAlerts();
     }
 
+    //full alert history as newline-delimited JSON, streamed from a db cursor
+    //GET http://localhost:8080/api/alerts/export
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAlerts() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportService::exportAlerts);
+    }
+
     @PostMapping
     public Alert createAlert(@RequestBody Alert alert) {
         return service.saveAlert(alert);
@@ -43,4 +69,13 @@ public class AlertController {
     public List<Alert> getInMemoryAlerts() {
         return service.getInMemoryAlerts();
     }
+
+    //server-sent events pushed as screening raises alerts, event id is the alert sequence number
+    //resumes after Last-Event-ID (sent by a reconnecting EventSource) or ?since=, otherwise only new alerts
+    //GET http://localhost:8080/api/alerts/stream
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                   @RequestParam(required = false) Long since) {
+        return streamService.subscribe(lastEventId != null ? lastEventId : since);
+    }
 }
@@ -1,10 +1,14 @@
 package com.satellitesystem.collisiondetection.controller;
 
-import com.satellitesystem.collisiondetection.model.CollisionPrediction;
 import com.satellitesystem.collisiondetection.service.CollisionPredictionService;
+import com.satellitesystem.collisiondetection.service.KeysetPage;
+import com.satellitesystem.collisiondetection.service.NdjsonExportService;
+import com.satellitesystem.collisiondetection.service.PredictionSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/collisions")
@@ -13,13 +17,28 @@ public class CollisionPredictionController {
     @Autowired
     private CollisionPredictionService service;
 
+    @Autowired
+    private NdjsonExportService exportService;
+
+    //keyset paged like the other list endpoints: ?limit=, then ?after=<nextAfter>
     @GetMapping("/active")
-    public List<CollisionPrediction> getActiveCollisions() {
-        return service.getActivePredictions();
+    public KeysetPage<PredictionSummary> getActiveCollisions(@RequestParam(required = false) Long after,
+                                                             @RequestParam(required = false) Integer limit) {
+        return service.getActivePredictions(after, limit);
     }
 
     @GetMapping("/critical")
-    public List<CollisionPrediction> getCriticalCollisions() {
-        return service.getCriticalPredictions();
+    public KeysetPage<PredictionSummary> getCriticalCollisions(@RequestParam(required = false) Long after,
+                                                               @RequestParam(required = false) Integer limit) {
+        return service.getCriticalPredictions(after, limit);
+    }
+
+    //every prediction as newline-delimited JSON, streamed from a db cursor
+    //GET http://localhost:8080/api/collisions/export
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCollisions() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportService::exportPredictions);
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.satellitesystem.collisiondetection.controller;
+
+import com.satellitesystem.collisiondetection.service.ConjunctionQueryResult;
+import com.satellitesystem.collisiondetection.service.ConjunctionQueryService;
+import com.satellitesystem.collisiondetection.service.StateQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+//one-vs-catalog screening, answers from the in-memory catalog index and never writes predictions
+@RestController
+@RequestMapping("/api/screening/query")
+public class ConjunctionQueryController {
+
+    @Autowired
+    private ConjunctionQueryService queryService;
+
+    //GET http://localhost:8080/api/screening/query/satellites/42?threshold=5
+    @GetMapping("/satellites/{id}")
+    public ResponseEntity<ConjunctionQueryResult> screenSatellite(@PathVariable Long id,
+                                                                  @RequestParam(defaultValue = "5.0") double threshold) {
+        try {
+            ConjunctionQueryResult result = queryService.screenSatellite(id, threshold);
+            return result == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    //POST http://localhost:8080/api/screening/query?threshold=5
+    //body: [{"label": "burn-a", "latitude": 51.6, "longitude": 247.4, "altitude": 420.0, "excludeSatelliteId": 42}, ...]
+    @PostMapping
+    public ResponseEntity<List<ConjunctionQueryResult>> screenStates(@RequestBody List<StateQuery> queries,
+                                                                     @RequestParam(defaultValue = "5.0") double threshold) {
+        try {
+            return ResponseEntity.ok(queryService.screenStates(queries, threshold));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -2,17 +2,21 @@ package com.satellitesystem.collisiondetection.controller;
 
 import com.satellitesystem.collisiondetection.model.CollisionPrediction;
 import com.satellitesystem.collisiondetection.model.Satellite;
-import com.satellitesystem.collisiondetection.repository.AlertRepository;
-import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
-import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
 import com.satellitesystem.collisiondetection.service.CollisionDetectionService;
+import com.satellitesystem.collisiondetection.service.ConjunctionQueryResult;
+import com.satellitesystem.collisiondetection.service.DataResetService;
+import com.satellitesystem.collisiondetection.service.KeysetPage;
 import com.satellitesystem.collisiondetection.service.NasaApiService;
+import com.satellitesystem.collisiondetection.service.NdjsonExportService;
+import com.satellitesystem.collisiondetection.service.NeighbourQueryService;
+import com.satellitesystem.collisiondetection.service.ScreeningCoordinator;
 import com.satellitesystem.collisiondetection.service.SatelliteService;
-import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
-import com.satellitesystem.collisiondetection.repository.AlertRepository;
-import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
+import com.satellitesystem.collisiondetection.service.SatelliteSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -30,26 +34,40 @@ public class SatelliteController {
     private CollisionDetectionService collisionDetectionService;
 
     @Autowired
-    private SatelliteRepository satelliteRepository;
+    private ScreeningCoordinator screeningCoordinator;
 
     @Autowired
-    private AlertRepository alertRepository;
+    private DataResetService resetService;
 
     @Autowired
-    private CollisionPredictionRepository collisionPredictionRepository;
+    private NeighbourQueryService neighbourService;
 
-    //trigger collision detection for all satellites
+    @Autowired
+    private NdjsonExportService exportService;
+
+    //trigger collision detection for all satellites, joins a run already screening the same catalog
     //POST http://localhost:8080/api/satellites/detection-collisions
     @PostMapping("/detect-collisions")
     public String detectCollisions() {
-        List<CollisionPrediction> predictions = collisionDetectionService.detectCollisions();
+        List<CollisionPrediction> predictions = screeningCoordinator.detectCollisions(collisionDetectionService.getScreeningMode());
         return "Collision detection complete! Found " + predictions.size() + " potential collisions. "
                 + "Total satellites analyzed: " + collisionDetectionService.getSatelliteCount();
     }
 
+    //keyset paged: GET http://localhost:8080/api/satellites?limit=500, then ?after=<nextAfter> for the next page
     @GetMapping
-    public List<Satellite> getAllSatellites() {
-        return service.getAllSatellites();
+    public KeysetPage<SatelliteSummary> getAllSatellites(@RequestParam(required = false) Long after,
+                                                         @RequestParam(required = false) Integer limit) {
+        return service.getSatellites(after, limit);
+    }
+
+    //whole catalog as newline-delimited JSON, streamed from a db cursor
+    //GET http://localhost:8080/api/satellites/export
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSatellites() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportService::exportSatellites);
     }
 
     @PostMapping
@@ -62,21 +80,44 @@ public class SatelliteController {
         return service.getSatellite(id);
     }
 
+    //closest objects at the current positions, either the k nearest or everything within radius km
+    //GET http://localhost:8080/api/satellites/42/neighbours?k=10
+    //GET http://localhost:8080/api/satellites/42/neighbours?radius=50
+    @GetMapping("/{id}/neighbours")
+    public ResponseEntity<ConjunctionQueryResult> getNeighbours(@PathVariable Long id,
+                                                                @RequestParam(required = false) Integer k,
+                                                                @RequestParam(required = false) Double radius) {
+        if ((k == null) == (radius == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            ConjunctionQueryResult result = k != null ? neighbourService.nearest(id, k) : neighbourService.within(id, radius);
+            return result == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /*PRIMARY METHOD: fetches live data from nasa space-track api
     *POST http://localhost:8080/api/satellites/fetch-nasa-data
     */
     @PostMapping("/fetch-nasa-data")
     public String fetchNasaData() {
-        //clear all data first to fix the satellite stacking issue
-        alertRepository.deleteAll();
-        collisionPredictionRepository.deleteAll();
-        satelliteRepository.deleteAll();
-
+        //upserts by NORAD id so repeated loads no longer stack duplicate satellites
         String result = nasaApiService.fetchAndStoreSatellites();
         long totalCount = nasaApiService.getSatelliteCount();
         return result + " Total satellites in database: " + totalCount;
     }
 
+    //delta refresh: only element sets newer than the newest stored EPOCH
+    //POST http://localhost:8080/api/satellites/fetch-nasa-delta
+    @PostMapping("/fetch-nasa-delta")
+    public String fetchNasaDelta() {
+        String result = nasaApiService.fetchDeltaAndStoreSatellites();
+        long totalCount = nasaApiService.getSatelliteCount();
+        return result + " Total satellites in database: " + totalCount;
+    }
+
     /**
      * BACKUP:loads embedded satellite data for demo if needed
      * Use when Space-Track API is unavailable or offline dev
@@ -85,11 +126,7 @@ public class SatelliteController {
 
     @PostMapping("/load-backup-data")
     public String loadBackupData() {
-        //clear all data first to fix the satellite stacking issue
-        alertRepository.deleteAll();
-        collisionPredictionRepository.deleteAll();
-        satelliteRepository.deleteAll();
-
+        //upserts by NORAD id so repeated loads no longer stack duplicate satellites
         String result = nasaApiService.loadBackupData();
         long totalCount = nasaApiService.getSatelliteCount();
         return result + " Total satellites in database: " + totalCount;
@@ -98,10 +135,8 @@ public class SatelliteController {
     //fix for dupe satellites - deletes in correct order
     @PostMapping("/clear-all")
     public String clearAll() {
-        //delete in order: alerts, collision predictions, sats
-        alertRepository.deleteAll();
-        collisionPredictionRepository.deleteAll();
-        satelliteRepository.deleteAll();
+        //alerts, collision predictions and sats in one bulk reset
+        resetService.clearAll();
         return "All data cleared from database.";
     }
 }
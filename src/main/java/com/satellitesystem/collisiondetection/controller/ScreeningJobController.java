@@ -0,0 +1,61 @@
+package com.satellitesystem.collisiondetection.controller;
+
+import com.satellitesystem.collisiondetection.model.CollisionPrediction;
+import com.satellitesystem.collisiondetection.service.ScreeningJob;
+import com.satellitesystem.collisiondetection.service.ScreeningJobService;
+import com.satellitesystem.collisiondetection.service.ScreeningJobStatus;
+import com.satellitesystem.collisiondetection.service.ScreeningMode;
+import com.satellitesystem.collisiondetection.service.ScreeningPhase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+//async collision screening: submit returns a job id straight away, then poll status / fetch results / cancel
+@RestController
+@RequestMapping("/api/screening/jobs")
+public class ScreeningJobController {
+
+    @Autowired
+    private ScreeningJobService jobService;
+
+    //POST http://localhost:8080/api/screening/jobs?mode=GRID
+    @PostMapping
+    //concurrent submits against the same catalog share one run (same runId)
+    public ResponseEntity<ScreeningJobStatus> submit(@RequestParam(defaultValue = "GRID") ScreeningMode mode) {
+        ScreeningJob job = jobService.submit(mode);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.toStatus());
+    }
+
+    @GetMapping
+    public List<ScreeningJobStatus> getJobs() {
+        return jobService.getJobs();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ScreeningJobStatus> getStatus(@PathVariable String id) {
+        ScreeningJob job = jobService.getJob(id);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job.toStatus());
+    }
+
+    //409 until the job is DONE
+    @GetMapping("/{id}/result")
+    public ResponseEntity<List<CollisionPrediction>> getResult(@PathVariable String id) {
+        ScreeningJob job = jobService.getJob(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getPhase() != ScreeningPhase.DONE) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(job.getResult());
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ScreeningJobStatus> cancel(@PathVariable String id) {
+        ScreeningJob job = jobService.cancel(id);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job.toStatus());
+    }
+}
@@ -5,28 +5,45 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_alert_acknowledged_id", columnList = "acknowledged, id"))
 public class Alert {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alert_seq")
+    @SequenceGenerator(name = "alert_seq", sequenceName = "alert_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
-    private CollisionPrediction prediction;
+    //alerts are kept per satellite pair and outlive the predictions of a run (see AlertCoalescer),
+    //satellite1 is the one with the lower id
+    //lazy, read paths that need the satellites fetch them with the alert (AlertRepository entity graphs)
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Satellite satellite1;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Satellite satellite2;
 
     private String alertLevel; //critical, warning, info
     private String message;
     private LocalDateTime sentAt;
     private boolean acknowledged;
 
+    //geometry of the latest screen that updated the alert
+    private double minimumDistance;
+    private LocalDateTime predictedTime; //UTC, copied from the prediction
+    private Double collisionProbability;
+
+    private LocalDateTime updatedAt;
+    private LocalDateTime resolvedAt; //null while the pair is still close
+
     //constructor
     public Alert() {
         this.acknowledged = false;
     }
 
     //constructor with fields
-    private Alert(CollisionPrediction prediction, String alertLevel, String message) {
-        this.prediction = prediction;
+    private Alert(Satellite satellite1, Satellite satellite2, String alertLevel, String message) {
+        this.satellite1 = satellite1;
+        this.satellite2 = satellite2;
         this.alertLevel = alertLevel;
         this.message = message;
         this.sentAt = LocalDateTime.now();
@@ -37,8 +54,11 @@ public class Alert {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
-    public CollisionPrediction getPrediction() { return prediction; }
-    public void setPrediction(CollisionPrediction prediction) { this.prediction = prediction; }
+    public Satellite getSatellite1() { return satellite1; }
+    public void setSatellite1(Satellite satellite1) { this.satellite1 = satellite1; }
+
+    public Satellite getSatellite2() { return satellite2; }
+    public void setSatellite2(Satellite satellite2) { this.satellite2 = satellite2; }
 
     public String getAlertLevel() { return alertLevel; }
     public void setAlertLevel(String alertLevel) { this.alertLevel = alertLevel; }
@@ -51,4 +71,19 @@ public class Alert {
 
     public boolean isAcknowledged() { return acknowledged; }
     public void setAcknowledged(boolean acknowledged) { this.acknowledged = acknowledged; }
+
+    public double getMinimumDistance() { return minimumDistance; }
+    public void setMinimumDistance(double minimumDistance) { this.minimumDistance = minimumDistance; }
+
+    public LocalDateTime getPredictedTime() { return predictedTime; }
+    public void setPredictedTime(LocalDateTime predictedTime) { this.predictedTime = predictedTime; }
+
+    public Double getCollisionProbability() { return collisionProbability; }
+    public void setCollisionProbability(Double collisionProbability) { this.collisionProbability = collisionProbability; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getResolvedAt() { return resolvedAt; }
+    public void setResolvedAt(LocalDateTime resolvedAt) { this.resolvedAt = resolvedAt; }
 }
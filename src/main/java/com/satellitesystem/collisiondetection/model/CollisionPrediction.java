@@ -4,21 +4,29 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_prediction_status_id", columnList = "status, id"),
+        @Index(name = "idx_prediction_risk_level_id", columnList = "risk_level, id")
+})
 public class CollisionPrediction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "collision_prediction_seq")
+    @SequenceGenerator(name = "collision_prediction_seq", sequenceName = "collision_prediction_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    //lazy, read paths that need the satellites fetch them with the prediction (repository entity graphs)
+    @ManyToOne(fetch = FetchType.LAZY)
     private Satellite satellite1;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Satellite satellite2;
 
+    //UTC in every screening mode, element set epochs and window TCAs are UTC
     private LocalDateTime predictedTime;
     private double minimumDistance;
-    private int probabilityScore;
+    private int probabilityScore; //collisionProbability in percent
+    private Double collisionProbability; //estimated Pc, 0..1
     private String riskLevel; //critical, warning, info
     private String status; //active, resolved, false_aram
     private LocalDateTime createdAt;
@@ -47,6 +55,9 @@ public class CollisionPrediction {
     public int getProbabilityScore() { return probabilityScore; }
     public void setProbabilityScore(int probabilityScore) { this.probabilityScore = probabilityScore; }
 
+    public Double getCollisionProbability() { return collisionProbability; }
+    public void setCollisionProbability(Double collisionProbability) { this.collisionProbability = collisionProbability; }
+
     public String getRiskLevel() { return riskLevel; }
     public void setRiskLevel(String riskLevel) { this.riskLevel = riskLevel; }
 
@@ -1,17 +1,22 @@
 package com.satellitesystem.collisiondetection.model;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 
 @Entity //tells springboot this is a db table
+@EntityListeners(SatelliteChangeListener.class) //committed row changes bump the catalog version
 public class Satellite {
 
     @Id //primary key for table
-    @GeneratedValue(strategy = GenerationType.IDENTITY) //auto increment id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "satellite_seq") //sequence ids so hibernate can batch inserts
+    @SequenceGenerator(name = "satellite_seq", sequenceName = "satellite_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
     //NASA NORAD catalog no. uniqueling identifying each satellite
+    //unique index, ingest upserts on it instead of inserting duplicates
+    @Column(unique = true)
     private String noradId;
 
     //orbital position in degrees
@@ -21,6 +26,21 @@ public class Satellite {
     //altitude in km above earth
     private double altitude;
 
+    //epoch (UTC) of the element set these values came from, used as the delta refresh high-water mark
+    private LocalDateTime epoch;
+
+    //mean orbital elements as published in the GP feed, null for satellites added by hand
+    private Double inclination;     //degrees
+    private Double raOfAscNode;     //degrees
+    private Double eccentricity;
+    private Double argOfPericenter; //degrees
+    private Double meanAnomaly;     //degrees
+    private Double meanMotion;      //revolutions per day
+
+    //perigee/apogee altitude above earth in km, used by the shell prefilter
+    private Double perigee;
+    private Double apogee;
+
     //TODO: add velocity tracking for better collision prediction
 
     //constructor for jpa
@@ -53,4 +73,31 @@ public class Satellite {
 
         public double getAltitude() { return altitude; }
         public void setAltitude(double altitude) { this.altitude = altitude; }
+
+        public LocalDateTime getEpoch() { return epoch; }
+        public void setEpoch(LocalDateTime epoch) { this.epoch = epoch; }
+
+        public Double getInclination() { return inclination; }
+        public void setInclination(Double inclination) { this.inclination = inclination; }
+
+        public Double getRaOfAscNode() { return raOfAscNode; }
+        public void setRaOfAscNode(Double raOfAscNode) { this.raOfAscNode = raOfAscNode; }
+
+        public Double getEccentricity() { return eccentricity; }
+        public void setEccentricity(Double eccentricity) { this.eccentricity = eccentricity; }
+
+        public Double getArgOfPericenter() { return argOfPericenter; }
+        public void setArgOfPericenter(Double argOfPericenter) { this.argOfPericenter = argOfPericenter; }
+
+        public Double getMeanAnomaly() { return meanAnomaly; }
+        public void setMeanAnomaly(Double meanAnomaly) { this.meanAnomaly = meanAnomaly; }
+
+        public Double getMeanMotion() { return meanMotion; }
+        public void setMeanMotion(Double meanMotion) { this.meanMotion = meanMotion; }
+
+        public Double getPerigee() { return perigee; }
+        public void setPerigee(Double perigee) { this.perigee = perigee; }
+
+        public Double getApogee() { return apogee; }
+        public void setApogee(Double apogee) { this.apogee = apogee; }
     }
@@ -0,0 +1,5 @@
+package com.satellitesystem.collisiondetection.model;
+
+//published by SatelliteChangeListener for every satellite row written or removed
+public record SatelliteChangeEvent(Long satelliteId, boolean removed) {
+}
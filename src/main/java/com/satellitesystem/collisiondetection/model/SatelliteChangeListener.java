@@ -0,0 +1,30 @@
+package com.satellitesystem.collisiondetection.model;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+//jpa entity listener on Satellite, publishes every row change as a SatelliteChangeEvent
+//these callbacks run at flush time, before the transaction commits, so the event is only a
+//record of the write; listeners decide when to act on it (the change tracker waits for the commit)
+//(spring boot lets hibernate create entity listeners as spring beans, so injection works here)
+@Component
+public class SatelliteChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(Satellite satellite) {
+        events.publishEvent(new SatelliteChangeEvent(satellite.getId(), false));
+    }
+
+    @PostRemove
+    public void onRemove(Satellite satellite) {
+        events.publishEvent(new SatelliteChangeEvent(satellite.getId(), true));
+    }
+}
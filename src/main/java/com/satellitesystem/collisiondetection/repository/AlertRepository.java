@@ -1,14 +1,73 @@
 package com.satellitesystem.collisiondetection.repository;
 
 import com.satellitesystem.collisiondetection.model.Alert;
+import com.satellitesystem.collisiondetection.service.AlertSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AlertRepository extends JpaRepository<Alert, Long> {
+    //entity reads fetch both satellites in the same select (satellites are lazy), one query whatever the row count
+    @Override
+    @EntityGraph(attributePaths = {"satellite1", "satellite2"})
+    List<Alert> findAll();
+
+    @EntityGraph(attributePaths = {"satellite1", "satellite2"})
+    Optional<Alert> findWithSatellitesById(Long id);
+
+    @EntityGraph(attributePaths = {"satellite1", "satellite2"})
     List<Alert> findByAlertLevel(String alertlevel);
+
+    @EntityGraph(attributePaths = {"satellite1", "satellite2"})
     List<Alert> findByAcknowledged(boolean acknowledged);
+
+    @EntityGraph(attributePaths = {"satellite1", "satellite2"})
     List<Alert> findBySentAtAfter(LocalDateTime date);
+
+    //alerts a screening run coalesces against: still open, or resolved recently enough to be reopened
+    //satellites are join fetched, the raised ones are handed to the alert stream after the transaction
+    @Query("select a from Alert a join fetch a.satellite1 join fetch a.satellite2 "
+            + "where a.resolvedAt is null or a.resolvedAt > :resolvedAfter")
+    List<Alert> findOpenOrResolvedAfter(@Param("resolvedAfter") LocalDateTime resolvedAfter);
+
+    //same, limited to pairs with one of these satellites (incremental screening)
+    @Query("select a from Alert a join fetch a.satellite1 join fetch a.satellite2 "
+            + "where (a.resolvedAt is null or a.resolvedAt > :resolvedAfter) "
+            + "and (a.satellite1.id in :ids or a.satellite2.id in :ids)")
+    List<Alert> findOpenOrResolvedAfterInvolving(@Param("resolvedAfter") LocalDateTime resolvedAfter,
+                                                 @Param("ids") Collection<Long> ids);
+
+    //keyset pages, all alerts and only unacknowledged ones (served by the (acknowledged, id) index)
+    @Query("select new com.satellitesystem.collisiondetection.service.AlertSummary("
+            + "a.id, a.satellite1.id, a.satellite1.name, a.satellite2.id, a.satellite2.name, "
+            + "a.alertLevel, a.minimumDistance, a.sentAt, a.acknowledged, a.resolvedAt) "
+            + "from Alert a where a.id > :after order by a.id")
+    List<AlertSummary> findSummariesAfter(@Param("after") long after, Limit limit);
+
+    @Query("select new com.satellitesystem.collisiondetection.service.AlertSummary("
+            + "a.id, a.satellite1.id, a.satellite1.name, a.satellite2.id, a.satellite2.name, "
+            + "a.alertLevel, a.minimumDistance, a.sentAt, a.acknowledged, a.resolvedAt) "
+            + "from Alert a where a.acknowledged = :acknowledged and a.id > :after order by a.id")
+    List<AlertSummary> findSummariesByAcknowledgedAfter(@Param("acknowledged") boolean acknowledged,
+                                                        @Param("after") long after, Limit limit);
+
+    //full alert history as a cursor for exports (read inside a transaction and close it)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.satellitesystem.collisiondetection.service.AlertSummary("
+            + "a.id, a.satellite1.id, a.satellite1.name, a.satellite2.id, a.satellite2.name, "
+            + "a.alertLevel, a.minimumDistance, a.sentAt, a.acknowledged, a.resolvedAt) "
+            + "from Alert a order by a.id")
+    Stream<AlertSummary> streamSummaries();
 }
@@ -1,12 +1,61 @@
 package com.satellitesystem.collisiondetection.repository;
 
 import com.satellitesystem.collisiondetection.model.CollisionPrediction;
+import com.satellitesystem.collisiondetection.service.PredictionSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CollisionPredictionRepository extends JpaRepository<CollisionPrediction, Long> {
+    //entity reads fetch both satellites in the same select (satellites are lazy), one query whatever the row count
+    @Override
+    @EntityGraph(attributePaths = {"satellite1", "satellite2"})
+    List<CollisionPrediction> findAll();
+
+    @EntityGraph(attributePaths = {"satellite1", "satellite2"})
     List<CollisionPrediction> findByStatus(String status);
+
+    @EntityGraph(attributePaths = {"satellite1", "satellite2"})
     List<CollisionPrediction> findByRiskLevel(String riskLevel);
+
+    long countByStatus(String status);
+
+    //drops every prediction involving one of these satellites (incremental screening)
+    @Modifying
+    @Query("delete from CollisionPrediction p where p.satellite1.id in :ids or p.satellite2.id in :ids")
+    int deleteInvolvingSatellites(@Param("ids") Collection<Long> ids);
+
+    //keyset pages of one status / risk level, served by the (status, id) and (risk_level, id) indexes
+    @Query("select new com.satellitesystem.collisiondetection.service.PredictionSummary("
+            + "p.id, p.satellite1.id, p.satellite1.name, p.satellite2.id, p.satellite2.name, "
+            + "p.predictedTime, p.minimumDistance, p.collisionProbability, p.riskLevel, p.status) "
+            + "from CollisionPrediction p where p.status = :status and p.id > :after order by p.id")
+    List<PredictionSummary> findSummariesByStatusAfter(@Param("status") String status, @Param("after") long after,
+                                                       Limit limit);
+
+    @Query("select new com.satellitesystem.collisiondetection.service.PredictionSummary("
+            + "p.id, p.satellite1.id, p.satellite1.name, p.satellite2.id, p.satellite2.name, "
+            + "p.predictedTime, p.minimumDistance, p.collisionProbability, p.riskLevel, p.status) "
+            + "from CollisionPrediction p where p.riskLevel = :riskLevel and p.id > :after order by p.id")
+    List<PredictionSummary> findSummariesByRiskLevelAfter(@Param("riskLevel") String riskLevel, @Param("after") long after,
+                                                          Limit limit);
+
+    //every prediction as a cursor for exports (read inside a transaction and close it)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.satellitesystem.collisiondetection.service.PredictionSummary("
+            + "p.id, p.satellite1.id, p.satellite1.name, p.satellite2.id, p.satellite2.name, "
+            + "p.predictedTime, p.minimumDistance, p.collisionProbability, p.riskLevel, p.status) "
+            + "from CollisionPrediction p order by p.id")
+    Stream<PredictionSummary> streamSummaries();
 }
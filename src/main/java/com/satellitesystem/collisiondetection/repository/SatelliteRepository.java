@@ -1,9 +1,45 @@
 package com.satellitesystem.collisiondetection.repository;
 
 import com.satellitesystem.collisiondetection.model.Satellite;
+import com.satellitesystem.collisiondetection.service.CatalogStamp;
+import com.satellitesystem.collisiondetection.service.SatelliteSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SatelliteRepository extends JpaRepository<Satellite, Long> {
+    List<Satellite> findByNoradIdIn(Collection<String> noradIds);
+
+    //newest element set epoch in the catalog, high-water mark for delta refreshes
+    @Query("select max(s.epoch) from Satellite s")
+    LocalDateTime findMaxEpoch();
+
+    //fingerprint of the catalog, compared against the boot snapshot
+    @Query("select new com.satellitesystem.collisiondetection.service.CatalogStamp("
+            + "count(s), coalesce(max(s.id), 0), coalesce(sum(extract(epoch from s.epoch)), 0)) from Satellite s")
+    CatalogStamp findCatalogStamp();
+
+    //keyset page: the next rows after an id, walks the primary key index however deep the page is
+    @Query("select new com.satellitesystem.collisiondetection.service.SatelliteSummary("
+            + "s.id, s.noradId, s.name, s.latitude, s.longitude, s.altitude, s.epoch) "
+            + "from Satellite s where s.id > :after order by s.id")
+    List<SatelliteSummary> findSummariesAfter(@Param("after") long after, Limit limit);
+
+    //whole catalog as a cursor, rows are fetched 500 at a time while the caller consumes the stream
+    //(must be read inside a transaction and closed)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.satellitesystem.collisiondetection.service.SatelliteSummary("
+            + "s.id, s.noradId, s.name, s.latitude, s.longitude, s.altitude, s.epoch) "
+            + "from Satellite s order by s.id")
+    Stream<SatelliteSummary> streamSummaries();
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Alert;
+import com.satellitesystem.collisiondetection.model.CollisionPrediction;
+import com.satellitesystem.collisiondetection.repository.AlertRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//turns a screening run's predictions into alert changes instead of one new alert per conjunction per run
+//alerts are keyed on (satellite pair, risk level), a pair has at most one open alert:
+//- same level as the open alert: the row is only updated when the miss distance moved more than distance-band-km
+//- higher level: the open alert is resolved and one at the new level is raised (escalation)
+//- lower level: only once the distance is hysteresis-km past the open level's boundary, so a pair hovering
+//  around 2 or 3.5 km does not flip levels every run
+//- pair no longer close: the open alert is resolved; if it comes back at the same level within reopen-minutes
+//  that alert is reopened rather than raised again
+//so inserts follow new events, and a quiet catalog screened every minute writes next to nothing
+@Service
+public class AlertCoalescer {
+
+    private record PairKey(long first, long second) {
+        static PairKey of(CollisionPrediction prediction) {
+            return new PairKey(prediction.getSatellite1().getId(), prediction.getSatellite2().getId());
+        }
+
+        static PairKey of(Alert alert) {
+            return new PairKey(alert.getSatellite1().getId(), alert.getSatellite2().getId());
+        }
+    }
+
+    private record LevelKey(PairKey pair, String level) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Value("${alerts.coalesce.distance-band-km:0.1}")
+    private double distanceBand;
+
+    @Value("${alerts.coalesce.hysteresis-km:0.25}")
+    private double hysteresis;
+
+    @Value("${alerts.coalesce.reopen-minutes:60}")
+    private long reopenMinutes;
+
+    //applies a run to the stored alerts, scope is the satellites the run re-screened (null for a full run);
+    //returns the alerts raised or changed level, i.e. what operators should be told about
+    @Transactional
+    public List<Alert> coalesce(List<CollisionPrediction> predictions, Collection<Long> scope) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime reopenAfter = now.minusMinutes(reopenMinutes);
+        List<Alert> stored = scope == null
+                ? alertRepository.findOpenOrResolvedAfter(reopenAfter)
+                : scope.isEmpty() ? List.of() : alertRepository.findOpenOrResolvedAfterInvolving(reopenAfter, scope);
+
+        Map<PairKey, Alert> open = new HashMap<>();
+        Map<LevelKey, Alert> resolved = new HashMap<>();
+        for (Alert alert : stored) {
+            if (alert.getResolvedAt() == null) {
+                open.put(PairKey.of(alert), alert);
+            } else {
+                resolved.merge(new LevelKey(PairKey.of(alert), alert.getAlertLevel()), alert,
+                        (a, b) -> a.getResolvedAt().isAfter(b.getResolvedAt()) ? a : b);
+            }
+        }
+
+        List<Alert> raised = new ArrayList<>();
+        int updated = 0;
+        for (CollisionPrediction prediction : predictions) {
+            PairKey pair = PairKey.of(prediction);
+            Alert current = open.remove(pair);
+            String level = level(prediction, current);
+
+            if (current != null && current.getAlertLevel().equals(level)) {
+                if (Math.abs(prediction.getMinimumDistance() - current.getMinimumDistance()) > distanceBand) {
+                    apply(current, prediction, level, now);
+                    updated++;
+                }
+                continue;
+            }
+            if (current != null) {
+                current.setResolvedAt(now);
+            }
+
+            Alert alert = resolved.remove(new LevelKey(pair, level));
+            boolean reopened = alert != null;
+            if (reopened) {
+                alert.setResolvedAt(null);
+                apply(alert, prediction, level, now);
+            } else {
+                alert = new Alert();
+                alert.setSatellite1(prediction.getSatellite1());
+                alert.setSatellite2(prediction.getSatellite2());
+                apply(alert, prediction, level, now);
+                alert.setSentAt(now);
+                entityManager.persist(alert);
+            }
+
+            //a pair that briefly dropped out and came back at its old level is not news
+            if (current == null && reopened) {
+                continue;
+            }
+            if (current != null && rank(level) > rank(current.getAlertLevel())) {
+                alert.setAcknowledged(false);
+            }
+            raised.add(alert);
+        }
+
+        //pairs in scope that were not found again are no longer close
+        open.values().forEach(alert -> alert.setResolvedAt(now));
+
+        entityManager.flush();
+        System.out.println("Alerts: " + raised.size() + " raised or changed level, " + updated + " updated, "
+                + open.size() + " no longer close");
+        return raised;
+    }
+
+    //risk level of the prediction, held at the open alert's level until the distance clears the hysteresis band
+    private String level(CollisionPrediction prediction, Alert current) {
+        String level = prediction.getRiskLevel();
+        if (current != null && rank(level) < rank(current.getAlertLevel())
+                && prediction.getMinimumDistance() < upperBound(current.getAlertLevel()) + hysteresis) {
+            return current.getAlertLevel();
+        }
+        return level;
+    }
+
+    private static void apply(Alert alert, CollisionPrediction prediction, String level, LocalDateTime now) {
+        alert.setAlertLevel(level);
+        alert.setMinimumDistance(prediction.getMinimumDistance());
+        alert.setPredictedTime(prediction.getPredictedTime());
+        alert.setCollisionProbability(prediction.getCollisionProbability());
+        alert.setMessage(String.format("COLLISION ALERT: %s and %s are %.2f km apart (Risk: %s)",
+                prediction.getSatellite1().getName(),
+                prediction.getSatellite2().getName(),
+                prediction.getMinimumDistance(),
+                level));
+        alert.setUpdatedAt(now);
+    }
+
+    private static int rank(String level) {
+        return switch (level) {
+            case "CRITICAL" -> 2;
+            case "WARNING" -> 1;
+            default -> 0;
+        };
+    }
+
+    //distance under which a level applies
+    private static double upperBound(String level) {
+        return switch (level) {
+            case "CRITICAL" -> CollisionDetectionService.CRITICAL_DISTANCE;
+            case "WARNING" -> CollisionDetectionService.WARNING_DISTANCE;
+            default -> CollisionDetectionService.COLLISION_THRESHOLD;
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Alert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+//bounded lock-free buffer of the most recent alerts, every alert gets a sequence number (from 1)
+//writers claim a sequence with one atomic increment and publish into slot (sequence & mask), so concurrent
+//screens never block each other; when full the oldest alert is overwritten
+//readers check the sequence stored in the slot: a slot still holding an older sequence has not been written
+//yet, one holding a newer sequence was overwritten
+public class AlertRingBuffer {
+
+    public record Entry(long sequence, Alert alert) {
+    }
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong(1);
+
+    //capacity is rounded up to a power of two
+    public AlertRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        slots = new AtomicReferenceArray<>(Math.max(1, size));
+        mask = slots.length() - 1;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    //returns the sequence the alert was stored under
+    public long publish(Alert alert) {
+        long sequence = nextSequence.getAndIncrement();
+        slots.set((int) (sequence & mask), new Entry(sequence, alert));
+        return sequence;
+    }
+
+    //highest sequence handed out so far, 0 before the first alert (its slot may still be in flight)
+    public long lastSequence() {
+        return nextSequence.get() - 1;
+    }
+
+    //up to limit alerts, newest first
+    public List<Alert> latest(int limit) {
+        List<Alert> alerts = new ArrayList<>(Math.min(limit, capacity()));
+        long last = lastSequence();
+        for (long sequence = last; sequence > 0 && sequence > last - capacity() && alerts.size() < limit; sequence--) {
+            Entry entry = slots.get((int) (sequence & mask));
+            if (entry != null && entry.sequence() == sequence) {
+                alerts.add(entry.alert());
+            }
+        }
+        return alerts;
+    }
+
+    //alerts after the given sequence in order, up to the first one still being written
+    //entries that were already overwritten are skipped, callers spot the gap from the sequence numbers
+    public List<Entry> since(long after) {
+        List<Entry> entries = new ArrayList<>();
+        long last = lastSequence();
+        for (long sequence = Math.max(after + 1, last - capacity() + 1); sequence <= last; sequence++) {
+            Entry entry = slots.get((int) (sequence & mask));
+            if (entry == null || entry.sequence() < sequence) {
+                break;
+            }
+            if (entry.sequence() == sequence) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+}
@@ -3,10 +3,11 @@ package com.satellitesystem.collisiondetection.service;
 import com.satellitesystem.collisiondetection.model.Alert;
 import com.satellitesystem.collisiondetection.repository.AlertRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.ArrayList;
 
 @Service
 public class AlertService {
@@ -14,15 +15,25 @@ public class AlertService {
     @Autowired
     private AlertRepository repository;
 
-    private final List<Alert>recentAlerts = new ArrayList<>();
+    //recent alerts live in the lock-free ring of the stream service, which also pushes them to subscribers
+    @Autowired
+    private AlertStreamService streamService;
+
+    @Autowired
+    private KeysetPaging paging;
+
     private final int MAX_RECENT_ALERTS = 100;
 
-    public List<Alert> getAllAlerts() {
-        return repository.findAll();
+    public KeysetPage<AlertSummary> getAlerts(Long after, Integer limit) {
+        int size = paging.size(limit);
+        return KeysetPage.of(repository.findSummariesAfter(KeysetPaging.after(after), Limit.of(size)), size,
+                AlertSummary::id);
     }
 
-    public List<Alert> getUnacknowledgedAlerts() {
-        return repository.findByAcknowledged(false);
+    public KeysetPage<AlertSummary> getUnacknowledgedAlerts(Long after, Integer limit) {
+        int size = paging.size(limit);
+        return KeysetPage.of(repository.findSummariesByAcknowledgedAfter(false, KeysetPaging.after(after), Limit.of(size)),
+                size, AlertSummary::id);
     }
 
     public List<Alert> getRecentAlerts() {
@@ -39,23 +50,24 @@ public class AlertService {
         return saved;
     }
 
-    private void addToRecentAlerts(Alert alert) {
-        recentAlerts.add(0, alert);
-        if (recentAlerts.size() > MAX_RECENT_ALERTS) {
-            recentAlerts.remove(recentAlerts.size() - 1);
-        }
+    //also used by collision detection after it bulk inserts a run's alerts, safe from concurrent screens
+    void addToRecentAlerts(Alert alert) {
+        streamService.ring().publish(alert);
+        streamService.alertPublished();
     }
 
+    //newest first
     public List<Alert> getInMemoryAlerts() {
-        return new ArrayList<>(recentAlerts);
+        return streamService.ring().latest(MAX_RECENT_ALERTS);
     }
 
+    //managed entity, the flag is flushed on commit; satellites come with it for the response
+    @Transactional
     public Alert acknowledgeAlert(Long id) {
-        Alert alert = repository.findById(id).orElse(null);
+        Alert alert = repository.findWithSatellitesById(id).orElse(null);
         if (alert != null) {
             alert.setAcknowledged(true);
-            return repository.save(alert);
         }
-        return null;
+        return alert;
     }
 }
@@ -0,0 +1,156 @@
+package com.satellitesystem.collisiondetection.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//pushes alerts to server-sent-event subscribers as screening publishes them
+//the ring buffer is the source of truth: publishing only wakes the dispatcher thread, which sends every
+//subscriber whatever the ring holds after the last sequence it got, so events go out in sequence order
+//and screening threads never wait on a slow client
+//the event id is the alert sequence, a reconnecting EventSource sends it back as Last-Event-ID and resumes
+//from there; if the ring already dropped some of those alerts a "gap" event says how many were missed
+@Service
+public class AlertStreamService {
+
+    private final AlertRingBuffer ring;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "alert-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean drainPending = new AtomicBoolean();
+
+    @Value("${alerts.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public AlertStreamService(@Value("${alerts.recent.capacity:1024}") int capacity) {
+        this.ring = new AlertRingBuffer(capacity);
+    }
+
+    AlertRingBuffer ring() {
+        return ring;
+    }
+
+    //called after an alert went into the ring
+    void alertPublished() {
+        if (drainPending.compareAndSet(false, true)) {
+            execute(() -> {
+                drainPending.set(false);
+                subscribers.forEach(this::drain);
+            });
+        }
+    }
+
+    //resumeAfter is the last sequence the client saw, null to get only new alerts
+    public SseEmitter subscribe(Long resumeAfter) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        long last = ring.lastSequence();
+        //a sequence from before a restart is ahead of the new numbering, replay what this run has
+        long resumeFrom = resumeAfter == null ? last : resumeAfter > last ? 0 : Math.max(0, resumeAfter);
+        Subscriber subscriber = new Subscriber(emitter, resumeFrom);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        //replay and registration happen on the dispatcher, so no alert slips between them
+        //the callbacks above can fire before that, so a closed subscriber is never (or not for long) registered
+        execute(() -> {
+            if (!subscriber.closed && drain(subscriber)) {
+                subscribers.add(subscriber);
+                if (subscriber.closed) {
+                    subscribers.remove(subscriber);
+                }
+            }
+        });
+        return emitter;
+    }
+
+    //flag first, then remove: a registration racing this either sees the flag or is removed here
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    //comment line every so often so proxies keep idle streams open and dead clients are dropped
+    @Scheduled(fixedDelayString = "${alerts.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        execute(() -> subscribers.forEach(subscriber -> {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                drop(subscriber);
+            }
+        }));
+    }
+
+    //sends everything after the subscriber's last sequence, false if the client is gone
+    private boolean drain(Subscriber subscriber) {
+        try {
+            for (AlertRingBuffer.Entry entry : ring.since(subscriber.lastSequence)) {
+                long missed = entry.sequence() - subscriber.lastSequence - 1;
+                if (missed > 0) {
+                    subscriber.emitter.send(SseEmitter.event().name("gap").data(missed));
+                }
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(entry.sequence()))
+                        .name("alert")
+                        .data(entry.alert(), MediaType.APPLICATION_JSON));
+                subscriber.lastSequence = entry.sequence();
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber);
+            return false;
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        close(subscriber);
+        subscriber.emitter.completeWithError(new IOException("Alert stream client disconnected"));
+    }
+
+    private void execute(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            //shutting down
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    //lastSequence is only touched on the dispatcher thread, closed is set by the emitter callbacks
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private long lastSequence;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, long lastSequence) {
+            this.emitter = emitter;
+            this.lastSequence = lastSequence;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.time.LocalDateTime;
+
+//list view of an alert, satellites reduced to id and name
+public record AlertSummary(Long id, Long satellite1Id, String satellite1Name, Long satellite2Id,
+                           String satellite2Name, String alertLevel, double minimumDistance, LocalDateTime sentAt,
+                           boolean acknowledged, LocalDateTime resolvedAt) {
+}
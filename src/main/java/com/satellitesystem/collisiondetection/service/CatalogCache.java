@@ -0,0 +1,84 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+
+//holds the current screening-ready catalog snapshot
+//at boot it is mapped from the on-disk snapshot, afterwards it is rebuilt from the db (and the
+//file rewritten) whenever the catalog version has moved since it was built
+@Service
+public class CatalogCache {
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private CatalogSnapshotStore snapshotStore;
+
+    @Autowired
+    private CatalogChangeTracker changeTracker;
+
+    private volatile CatalogSnapshot current;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        try {
+            long version = changeTracker.version();
+            CatalogSnapshot snapshot = snapshotStore.read(version);
+            if (snapshot == null) {
+                System.out.println("No catalog snapshot on disk, catalog will be loaded on first use");
+                return;
+            }
+            //cheap staleness check against the db, one aggregate query instead of a findAll; a count alone misses
+            //delta refreshes (same rows, new elements) committed after the file was last written
+            CatalogStamp fileStamp = CatalogStamp.of(snapshot.satellites());
+            CatalogStamp dbStamp = satelliteRepository.findCatalogStamp();
+            if (!fileStamp.matches(dbStamp)) {
+                System.out.println("Catalog snapshot " + fileStamp + " does not match the db " + dbStamp + ", ignoring it");
+                return;
+            }
+            current = snapshot;
+            System.out.println("Loaded catalog snapshot with " + snapshot.size() + " satellites");
+        } catch (IOException e) {
+            System.err.println("Could not read catalog snapshot: " + e.getMessage());
+        }
+    }
+
+    //current snapshot, rebuilt first if the catalog changed since it was built
+    //screening only, request threads read the snapshot held by CatalogIndex and never end up in refresh()
+    public CatalogSnapshot get() {
+        CatalogSnapshot snapshot = current;
+        if (snapshot == null || snapshot.version() != changeTracker.version()) {
+            snapshot = refresh();
+        }
+        return snapshot;
+    }
+
+    //rebuild from the db and rewrite the on-disk snapshot, called after each ingest
+    public synchronized CatalogSnapshot refresh() {
+        //read the version before the rows, a change that lands mid-read just causes another rebuild
+        long version = changeTracker.version();
+        CatalogSnapshot snapshot = current;
+        if (snapshot != null && snapshot.version() == version) {
+            return snapshot;
+        }
+
+        List<Satellite> satellites = satelliteRepository.findAll(Sort.by("id"));
+        snapshot = new CatalogSnapshot(satellites, SatellitePositions.of(satellites), version);
+        try {
+            snapshotStore.write(snapshot);
+        } catch (IOException e) {
+            System.err.println("Could not write catalog snapshot: " + e.getMessage());
+        }
+        current = snapshot;
+        return snapshot;
+    }
+}
@@ -0,0 +1,123 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.SatelliteChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+//catalog version counter, bumped whenever a satellite row is inserted, updated or removed
+//changes only count once their transaction has committed: a cache that reads the catalog after
+//seeing a new version must find those rows, and a rolled back write must leave no trace
+//caches built from the catalog remember the version they were built at and rebuild when it moves
+//also collects which satellites changed since the last screen, so incremental screening can
+//re-screen just those objects
+@Component
+public class CatalogChangeTracker {
+
+    //what changed since the last drain, fullScreenRequired means there is no valid baseline to patch
+    public record ChangeSet(Set<Long> changed, Set<Long> removed, boolean fullScreenRequired) {
+
+        public Set<Long> affected() {
+            Set<Long> affected = new HashSet<>(changed);
+            affected.addAll(removed);
+            return affected;
+        }
+    }
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    private final AtomicLong version = new AtomicLong();
+    private Set<Long> changed = new HashSet<>();
+    private Set<Long> removed = new HashSet<>();
+    //no screen has run since boot (or since a bulk reset), stored predictions can't be patched
+    private boolean fullScreenRequired = true;
+
+    public long version() {
+        return version.get();
+    }
+
+    //entity listener events are raised at flush time, this runs them after the commit instead
+    //(or straight away for writes outside a transaction), rollbacks never get here
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSatelliteChange(SatelliteChangeEvent event) {
+        if (event.removed()) {
+            satelliteRemoved(event.satelliteId());
+        } else {
+            satelliteChanged(event.satelliteId());
+        }
+    }
+
+    public synchronized void satelliteChanged(Long id) {
+        changed.add(id);
+        versionChanged();
+    }
+
+    public synchronized void satelliteRemoved(Long id) {
+        changed.remove(id);
+        removed.add(id);
+        versionChanged();
+    }
+
+    //bulk deletes bypass the entity listener, so resets report themselves
+    //like row changes, a reset inside a transaction only takes effect when it commits
+    public void catalogReset() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyReset();
+                }
+            });
+        } else {
+            applyReset();
+        }
+    }
+
+    private synchronized void applyReset() {
+        changed.clear();
+        removed.clear();
+        fullScreenRequired = true;
+        versionChanged();
+    }
+
+    private void versionChanged() {
+        events.publishEvent(new CatalogChangedEvent(version.incrementAndGet()));
+    }
+
+    public synchronized boolean hasPendingChanges() {
+        return !changed.isEmpty() || !removed.isEmpty();
+    }
+
+    //hands over everything recorded so far and starts a new change set
+    //only committed changes are ever recorded, so every drained id can be read back from the db
+    public synchronized ChangeSet drainChanges() {
+        ChangeSet changes = new ChangeSet(changed, removed, fullScreenRequired);
+        changed = new HashSet<>();
+        removed = new HashSet<>();
+        fullScreenRequired = false;
+        return changes;
+    }
+
+    //puts a drained change set back after the screen that took it failed
+    public synchronized void restore(ChangeSet changes) {
+        for (Long id : changes.changed()) {
+            if (!removed.contains(id)) {
+                changed.add(id);
+            }
+        }
+        removed.addAll(changes.removed());
+        fullScreenRequired |= changes.fullScreenRequired();
+    }
+
+    public synchronized void requireFullScreen() {
+        fullScreenRequired = true;
+    }
+}
@@ -0,0 +1,5 @@
+package com.satellitesystem.collisiondetection.service;
+
+//published by CatalogChangeTracker each time a committed change moves the catalog version
+public record CatalogChangedEvent(long version) {
+}
@@ -0,0 +1,101 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//pulls the full catalog from Space-Track by splitting it into NORAD_CAT_ID ranges
+//each range is fetched on its own virtual thread over the shared client (so the rate limiter
+//and session are shared too) and streamed straight into the catalog as it arrives
+@Service
+public class CatalogFetcher {
+
+    //latest element set per object (gp class), updated in the last 30 days
+    private static final String RANGE_QUERY =
+            "/basicspacedata/query/class/gp/NORAD_CAT_ID/%d--%d/EPOCH/%%3Enow-30/orderby/NORAD_CAT_ID/format/json";
+
+    //element sets published after the given epoch, whole catalog in one query since the delta is small
+    private static final String DELTA_QUERY =
+            "/basicspacedata/query/class/gp/EPOCH/%%3E%s/orderby/NORAD_CAT_ID/format/json";
+
+    private static final DateTimeFormatter EPOCH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+
+    @Autowired
+    private SpaceTrackClient client;
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private SatelliteFeedReader feedReader;
+
+    @Value("${nasa.fetch.range-size:10000}")
+    private int rangeSize;
+
+    @Value("${nasa.fetch.max-norad-id:99999}")
+    private int maxNoradId;
+
+    //how far before the newest stored epoch the delta starts, element sets are sometimes published hours or
+    //days after their epoch and would otherwise fall behind the mark for good
+    @Value("${nasa.fetch.delta-margin-hours:24}")
+    private long deltaMarginHours;
+
+    //only element sets newer than the newest epoch already stored (less the safety margin), falls back to a
+    //full fetch on an empty catalog; sets re-fetched inside the margin are no-ops, the upsert skips older epochs
+    public IngestResult fetchDelta() throws IOException, InterruptedException {
+        LocalDateTime highWaterMark = satelliteRepository.findMaxEpoch();
+        if (highWaterMark == null) {
+            System.out.println("No epoch high-water mark yet, doing a full catalog fetch");
+            return fetchFullCatalog();
+        }
+
+        LocalDateTime since = highWaterMark.minusHours(deltaMarginHours);
+        System.out.println("Fetching element sets newer than " + since + " (high-water mark " + highWaterMark + ")...");
+        String path = String.format(DELTA_QUERY, EPOCH_FORMAT.format(since));
+        return client.get(path, feedReader::ingest);
+    }
+
+    public IngestResult fetchFullCatalog() throws IOException, InterruptedException {
+        List<int[]> ranges = new ArrayList<>();
+        for (int low = 1; low <= maxNoradId; low += rangeSize) {
+            ranges.add(new int[]{low, Math.min(low + rangeSize - 1, maxNoradId)});
+        }
+        System.out.println("Fetching catalog in " + ranges.size() + " NORAD id ranges...");
+
+        List<Future<IngestResult>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int[] range : ranges) {
+                String path = String.format(RANGE_QUERY, range[0], range[1]);
+                futures.add(executor.submit(() -> client.get(path, feedReader::ingest)));
+            }
+
+            IngestResult total = IngestResult.EMPTY;
+            List<String> failures = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    total = total.plus(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    failures.add(ranges.get(i)[0] + "--" + ranges.get(i)[1] + ": " + e.getCause().getMessage());
+                }
+            }
+
+            //ranges that did succeed are already upserted, the next refresh fills in the rest
+            if (!failures.isEmpty()) {
+                throw new IOException(failures.size() + " of " + ranges.size() + " ranges failed after "
+                        + total.total() + " satellites were stored: " + failures);
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.satellitesystem.collisiondetection.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//persistent in-memory spatial index of the catalog for single object queries and incremental screens
+//readers get an immutable IndexedCatalog; after every committed catalog change one background thread reloads
+//the snapshot (findAll + snapshot file) and builds the next grid and kd-tree, then swaps the volatile reference,
+//so queries keep answering from the previous index meanwhile and never wait on a rebuild
+//changes that land while a rebuild is queued fold into it, a busy ingest costs one rebuild at a time, not one per batch
+@Service
+public class CatalogIndex {
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile IndexedCatalog current;
+
+    //rebuild that is queued but not started yet, guarded by this
+    private CompletableFuture<IndexedCatalog> queued;
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    //for queries: the latest index built, possibly a few changes behind the db
+    //only the very first query after boot waits, for the first background build
+    public IndexedCatalog current() {
+        IndexedCatalog indexed = current;
+        if (indexed != null) {
+            return indexed;
+        }
+        return scheduleRebuild().join();
+    }
+
+    //for screening: an index of the catalog as it is now, built on the calling thread if the background
+    //rebuild hasn't caught up yet (incremental screens must see every change they drained)
+    public IndexedCatalog fresh() {
+        CatalogSnapshot snapshot = catalogCache.get();
+        IndexedCatalog indexed = current;
+        if (indexed != null && indexed.snapshot() == snapshot) {
+            return indexed;
+        }
+        return build(snapshot);
+    }
+
+    //completes with an index that includes every change committed before the call
+    public synchronized CompletableFuture<IndexedCatalog> scheduleRebuild() {
+        if (queued == null) {
+            CompletableFuture<IndexedCatalog> next = new CompletableFuture<>();
+            queued = next;
+            rebuilder.execute(() -> {
+                synchronized (this) {
+                    queued = null;
+                }
+                try {
+                    next.complete(build(catalogCache.refresh()));
+                } catch (RuntimeException e) {
+                    System.err.println("Catalog index rebuild failed: " + e.getMessage());
+                    next.completeExceptionally(e);
+                }
+            });
+        }
+        return queued;
+    }
+
+    private IndexedCatalog build(CatalogSnapshot snapshot) {
+        long start = System.nanoTime();
+        SpatialGrid grid = SpatialGrid.of(snapshot.positions(), CollisionDetectionService.COLLISION_THRESHOLD);
+        KdTree tree = KdTree.of(snapshot.positions());
+        IndexedCatalog indexed = new IndexedCatalog(snapshot, grid, tree);
+        System.out.println("Catalog index built: " + snapshot.size() + " satellites in " + grid.occupiedCells()
+                + " cells (" + (System.nanoTime() - start) / 1_000_000 + " ms)");
+        publish(indexed);
+        return indexed;
+    }
+
+    //the background and screening threads can both build, never swap an older catalog over a newer one
+    private synchronized void publish(IndexedCatalog indexed) {
+        if (current == null || current.snapshot().version() <= indexed.snapshot().version()) {
+            current = indexed;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
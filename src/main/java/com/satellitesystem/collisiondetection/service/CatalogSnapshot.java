@@ -0,0 +1,33 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+
+import java.util.List;
+
+//screening-ready view of the catalog: satellites ordered by id and their precomputed positions
+//(index i in both), plus the catalog version it was built from
+//the satellites are detached copies shared between runs, treat them as read only
+public record CatalogSnapshot(List<Satellite> satellites, SatellitePositions positions, long version) {
+
+    public int size() {
+        return satellites.size();
+    }
+
+    //index of the satellite with this id, or -1 (satellites are ordered by id so this is a binary search)
+    public int indexOf(long id) {
+        int low = 0;
+        int high = satellites.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = satellites.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
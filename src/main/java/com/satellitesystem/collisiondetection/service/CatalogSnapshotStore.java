@@ -0,0 +1,159 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+//compact on-disk copy of the catalog so a restarted node can screen without a network call or a findAll
+//layout: 16 byte header (magic, format version, record count, record size) then fixed width 192 byte records
+//  id long | norad id 16 bytes | name 48 bytes | lat, lon, alt doubles | epoch micros long | x, y, z doubles
+//  | inclination, raan, eccentricity, arg of pericenter, mean anomaly, mean motion, perigee, apogee doubles (NaN = unknown)
+//the file is written to a temp file and moved into place, and read back through a memory mapping
+@Component
+public class CatalogSnapshotStore {
+
+    private static final int MAGIC = 0x53415443; //"SATC"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 192;
+    private static final int NORAD_BYTES = 16;
+    private static final int NAME_BYTES = 48;
+    private static final long NO_EPOCH = Long.MIN_VALUE;
+
+    private final Path path;
+
+    public CatalogSnapshotStore(@Value("${catalog.snapshot.path:${java.io.tmpdir}/satellite-collision-detection/catalog.snapshot}") String path) {
+        this.path = Path.of(path);
+    }
+
+    public void write(CatalogSnapshot snapshot) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        long size = HEADER_BYTES + (long) snapshot.size() * RECORD_BYTES;
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(snapshot.size()).putInt(RECORD_BYTES);
+
+            SatellitePositions positions = snapshot.positions();
+            for (int i = 0; i < snapshot.size(); i++) {
+                Satellite sat = snapshot.satellites().get(i);
+                buffer.putLong(sat.getId());
+                putFixed(buffer, sat.getNoradId(), NORAD_BYTES);
+                putFixed(buffer, sat.getName(), NAME_BYTES);
+                buffer.putDouble(sat.getLatitude()).putDouble(sat.getLongitude()).putDouble(sat.getAltitude());
+                buffer.putLong(sat.getEpoch() == null ? NO_EPOCH
+                        : ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), sat.getEpoch()));
+                buffer.putDouble(positions.x(i)).putDouble(positions.y(i)).putDouble(positions.z(i));
+                putOptional(buffer, sat.getInclination());
+                putOptional(buffer, sat.getRaOfAscNode());
+                putOptional(buffer, sat.getEccentricity());
+                putOptional(buffer, sat.getArgOfPericenter());
+                putOptional(buffer, sat.getMeanAnomaly());
+                putOptional(buffer, sat.getMeanMotion());
+                putOptional(buffer, sat.getPerigee());
+                putOptional(buffer, sat.getApogee());
+            }
+            buffer.force();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    //null if there is no snapshot yet, version is the catalog version to stamp on the result
+    public CatalogSnapshot read(long version) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            int count = buffer.getInt();
+            if (buffer.getInt() != RECORD_BYTES || channel.size() != HEADER_BYTES + (long) count * RECORD_BYTES) {
+                throw new IOException("Catalog snapshot is truncated or has an unknown layout: " + path);
+            }
+
+            List<Satellite> satellites = new ArrayList<>(count);
+            double[] x = new double[count];
+            double[] y = new double[count];
+            double[] z = new double[count];
+            for (int i = 0; i < count; i++) {
+                Satellite sat = new Satellite();
+                sat.setId(buffer.getLong());
+                sat.setNoradId(getFixed(buffer, NORAD_BYTES));
+                sat.setName(getFixed(buffer, NAME_BYTES));
+                sat.setLatitude(buffer.getDouble());
+                sat.setLongitude(buffer.getDouble());
+                sat.setAltitude(buffer.getDouble());
+                long epochMicros = buffer.getLong();
+                if (epochMicros != NO_EPOCH) {
+                    sat.setEpoch(LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+                            (int) Math.floorMod(epochMicros, 1_000_000L) * 1000, ZoneOffset.UTC));
+                }
+                x[i] = buffer.getDouble();
+                y[i] = buffer.getDouble();
+                z[i] = buffer.getDouble();
+                sat.setInclination(getOptional(buffer));
+                sat.setRaOfAscNode(getOptional(buffer));
+                sat.setEccentricity(getOptional(buffer));
+                sat.setArgOfPericenter(getOptional(buffer));
+                sat.setMeanAnomaly(getOptional(buffer));
+                sat.setMeanMotion(getOptional(buffer));
+                sat.setPerigee(getOptional(buffer));
+                sat.setApogee(getOptional(buffer));
+                satellites.add(sat);
+            }
+            return new CatalogSnapshot(satellites, SatellitePositions.of(x, y, z), version);
+        }
+    }
+
+    private static void putOptional(ByteBuffer buffer, Double value) {
+        buffer.putDouble(value == null ? Double.NaN : value);
+    }
+
+    private static Double getOptional(ByteBuffer buffer) {
+        double value = buffer.getDouble();
+        return Double.isNaN(value) ? null : value;
+    }
+
+    //zero padded utf-8, truncated on a character boundary if it does not fit
+    private static void putFixed(ByteBuffer buffer, String value, int width) {
+        String text = value == null ? "" : value;
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        while (bytes.length > width) {
+            text = text.substring(0, text.length() - 1);
+            bytes = text.getBytes(StandardCharsets.UTF_8);
+        }
+        buffer.put(bytes);
+        for (int i = bytes.length; i < width; i++) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static String getFixed(ByteBuffer buffer, int width) {
+        byte[] bytes = new byte[width];
+        buffer.get(bytes);
+        int length = 0;
+        while (length < width && bytes[length] != 0) {
+            length++;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
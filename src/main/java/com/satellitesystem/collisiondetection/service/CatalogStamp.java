@@ -0,0 +1,38 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+//cheap fingerprint of the catalog, computed by one aggregate query on the db or from a snapshot's rows
+//inserts and deletes move the count or the highest id (ids come from a sequence), and every new element set
+//moves its epoch and so the epoch sum; a boot snapshot whose stamp differs from the db is stale
+//(edits that keep the epoch, e.g. a hand-entered position, are not seen here, the next ingest rewrites the file)
+public record CatalogStamp(long count, long maxId, double epochSeconds) {
+
+    //the db sums in its own numeric type, element sets differ by minutes so a second of slack is plenty
+    private static final double EPOCH_SLACK_SECONDS = 1.0;
+
+    public static CatalogStamp of(List<Satellite> satellites) {
+        long maxId = 0;
+        double epochSeconds = 0;
+        for (Satellite sat : satellites) {
+            maxId = Math.max(maxId, sat.getId());
+            if (sat.getEpoch() != null) {
+                epochSeconds += seconds(sat.getEpoch());
+            }
+        }
+        return new CatalogStamp(satellites.size(), maxId, epochSeconds);
+    }
+
+    public boolean matches(CatalogStamp other) {
+        return count == other.count && maxId == other.maxId
+                && Math.abs(epochSeconds - other.epochSeconds) < EPOCH_SLACK_SECONDS;
+    }
+
+    private static double seconds(LocalDateTime epoch) {
+        return epoch.toEpochSecond(ZoneOffset.UTC) + epoch.getNano() / 1e9;
+    }
+}
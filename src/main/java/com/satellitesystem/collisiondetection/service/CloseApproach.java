@@ -0,0 +1,5 @@
+package com.satellitesystem.collisiondetection.service;
+
+//one catalog object within the query threshold
+public record CloseApproach(Long satelliteId, String noradId, String name, double distance, String riskLevel) {
+}
@@ -4,30 +4,24 @@ import com.satellitesystem.collisiondetection.model.Satellite;
 import com.satellitesystem.collisiondetection.model.CollisionPrediction;
 import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
 import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
-import com.satellitesystem.collisiondetection.model.Alert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import com.satellitesystem.collisiondetection.repository.AlertRepository;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 //service for detecting potential satellite collisions using distance based screening, conjunction detectio methods based on the two studies (Burgism Lechtenberg)
 
 @Service
 public class CollisionDetectionService {
    //distance thresholds (km)
-    private static final double EARTH_RADIUS = 6371.8;  //earth's radius in kms (standard reference value)
-    private static final double COLLISION_THRESHOLD = 5.0;
-    private static final double CRITICAL_DISTANCE = 2.0; // <2km = critical
-    private static final double WARNING_DISTANCE = 3.5; // <3.5km = warning
-
-    //probability score constants
-    private static final int PROBABILITY_CRITICAL = 90;
-    private static final int PROBABILITY_WARNING = 60;
-    private static final int PROBABILITY_INFO = 30;
+    static final double COLLISION_THRESHOLD = 5.0;
+    static final double CRITICAL_DISTANCE = 2.0; // <2km = critical
+    static final double WARNING_DISTANCE = 3.5; // <3.5km = warning
 
     @Autowired
     private AlertService alertService;
@@ -39,101 +33,261 @@ public class CollisionDetectionService {
     private CollisionPredictionRepository collisionRepository;
 
     @Autowired
-    private AlertRepository alertRepository;
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private ParallelScreeningEngine screeningEngine;
+
+    @Autowired
+    private ScreeningPersistenceService persistenceService;
+
+    @Autowired
+    private CatalogChangeTracker changeTracker;
+
+    @Autowired
+    private PrefilterStage prefilterStage;
+
+    @Autowired
+    private ConjunctionScreener conjunctionScreener;
+
+    @Autowired
+    private CollisionProbabilityEstimator probabilityEstimator;
+
+    //broad phase used when no mode is passed in, GRID unless overridden in config
+    @Value("${collision.screening.mode:GRID}")
+    private ScreeningMode screeningMode;
+
+    //WINDOW mode: how far ahead to screen and the coarse step the catalog is propagated at
+    @Value("${collision.window.hours:72}")
+    private double windowHours;
+
+    @Value("${collision.window.step-seconds:10}")
+    private double windowStepSeconds;
 
     //main method detecitn all potential collisions in satellite population
-    //checks every pair of satellites for proximity within collision threshold
+    //(http triggers go through ScreeningCoordinator so concurrent requests share one run)
     public List<CollisionPrediction> detectCollisions() {
-        System.out.println("Starting collision detection...");
+        return detectCollisions(screeningMode);
+    }
 
-        //delete alerts first (they ref collision predictions)
-        System.out.println("Clearing old alerts...");
-        alertRepository.deleteAll();
+    public ScreeningMode getScreeningMode() {
+        return screeningMode;
+    }
 
-        //delete collision predictions
-        System.out.println("Clearing old predictions to avoid duplicates...");
-        collisionRepository.deleteAll();
+    //same as above but with an explicit broad phase, BRUTE_FORCE is the reference used to cross check GRID
+    public List<CollisionPrediction> detectCollisions(ScreeningMode mode) {
+        return detectCollisions(mode, new ScreeningProgress());
+    }
 
-        //get all satellites from db
-        List<Satellite> satellites = satelliteRepository.findAll();
+    //run reporting into progress, throws CancellationException if progress is cancelled before the results are saved
+    public List<CollisionPrediction> detectCollisions(ScreeningMode mode, ScreeningProgress progress) {
+        //a full run screens every change recorded so far, if it doesn't finish the next run has to be full again
+        CatalogChangeTracker.ChangeSet changes = changeTracker.drainChanges();
+        try {
+            if (mode.isFull()) {
+                return detectAll(mode, progress);
+            }
+            if (changes.fullScreenRequired()) {
+                ScreeningMode fullMode = screeningMode.isFull() ? screeningMode : ScreeningMode.GRID;
+                System.out.println("No screening baseline yet, running a full " + fullMode + " screen instead");
+                return detectAll(fullMode, progress);
+            }
+            return detectChanged(changes, progress);
+        } catch (RuntimeException e) {
+            if (mode.isFull() || changes.fullScreenRequired()) {
+                changeTracker.requireFullScreen();
+            } else {
+                changeTracker.restore(changes);
+            }
+            throw e;
+        }
+    }
+
+    private List<CollisionPrediction> detectAll(ScreeningMode mode, ScreeningProgress progress) {
+        System.out.println("Starting collision detection (" + mode + ")...");
+
+        //get all satellites, from the cached catalog snapshot unless it changed since it was built
+        progress.setPhase(ScreeningPhase.LOADING_CATALOG);
+        CatalogSnapshot catalog = catalogCache.get();
+        List<Satellite> satellites = catalog.satellites();
         List<CollisionPrediction> predictions = new ArrayList<>();
+        progress.setSatellites(satellites.size());
 
         System.out.println("Analysing " + satellites.size() + " satellites...");
+        progress.throwIfCancelled();
+        progress.setPhase(ScreeningPhase.SCREENING);
+
+        List<Conjunction> conjunctions;
+        long pairsChecked;
+        Map<String, Long> pruned;
+        if (mode == ScreeningMode.WINDOW) {
+            //propagate the elements over the window and refine every close pair to its time of closest approach
+            ConjunctionResult result = screenWindow(catalog, null, progress);
+            conjunctions = result.conjunctions();
+            pairsChecked = result.pairsChecked();
+            pruned = result.pruned();
+        } else {
+            ScreeningResult result = screenSnapshot(mode, satellites, catalog.positions(), progress);
+            conjunctions = atScreenTime(result.hits(), satellites);
+            pairsChecked = result.pairsChecked();
+            pruned = result.pruned();
+        }
+        progress.setPruned(pruned);
+        reportPruning(pruned, satellites.size());
 
-        //check every unique pair of satellites
-        //currently using nested loop for 11 satellites, checking 55 pairs (n*(n-1)/2)
-        int pairsChecked = 0;
-        for (int i = 0; i < satellites.size(); i++) {
-            for (int j = i + 1; j <satellites.size(); j++) {
-                pairsChecked++;
+        //hits come back merged in (first, second) order so every mode and any thread count agree
+        toPredictions(conjunctions, satellites, predictions);
 
-                Satellite sat1 = satellites.get(i);
-                Satellite sat2 = satellites.get(j);
+        System.out.println("Checked " + pairsChecked + " satellite pairs");
+        System.out.println("Found " + predictions.size() + " potential collisions");
 
-                //calculate 3d distance between two satellites
-                double distance = calculateDistance(sat1, sat2);
+        //last chance to cancel, after this the old results are replaced
+        progress.throwIfCancelled();
+        progress.setPhase(ScreeningPhase.PERSISTING);
 
-                //if satellites within collision threshold create prediction
-                if (distance < COLLISION_THRESHOLD) {
-                    CollisionPrediction prediction = createPrediction(sat1, sat2, distance);
-                    predictions.add(prediction);
+        //swap the predictions in one batched transaction, alerts are coalesced against the ones already raised
+        persistenceService.replaceRun(predictions).forEach(alertService::addToRecentAlerts);
+        System.out.println("Saved " + predictions.size() + " collision prediction to database");
 
-                    System.out.println("COLLISION RISK: " + sat1.getName() + " and " + sat2.getName() + " are " + String.format("%.2f", distance) + " km apart!");
-                }
-            }
+        return predictions;
+    }
+
+    //single instant screen over the snapshot positions
+    private ScreeningResult screenSnapshot(ScreeningMode mode, List<Satellite> satellites, SatellitePositions positions,
+                                           ScreeningProgress progress) {
+        //cartesian positions were computed once when the snapshot was built, the pair kernel just reads the arrays
+        if (mode == ScreeningMode.BRUTE_FORCE) {
+            //check every unique pair of satellites (n*(n-1)/2)
+            return screeningEngine.screenAllPairs(positions, COLLISION_THRESHOLD, progress);
         }
+        Prefilters prefilters = prefilterStage.prepare(satellites, positions, COLLISION_THRESHOLD);
+        if (mode == ScreeningMode.SWEEP) {
+            //sort by altitude shell, only pairs whose shells overlap are generated
+            ShellBands bands = ShellBands.of(satellites, positions);
+            return screeningEngine.screenSweep(bands, positions, COLLISION_THRESHOLD, prefilters, progress);
+        }
+        //bucket satellites into threshold sized cells, only neighbouring cells can hold a close pair
+        SpatialGrid grid = SpatialGrid.of(positions, COLLISION_THRESHOLD);
+        System.out.println("Grid built with " + grid.occupiedCells() + " occupied cells");
+        return screeningEngine.screenGrid(grid, positions, COLLISION_THRESHOLD, prefilters, progress);
+    }
 
-        System.out.println("Checked " + pairsChecked + " satellite pairs");
-        System.out.println("Found " + predictions.size() + " potential collisions");
+    //window starts now, element set epochs are UTC
+    private ConjunctionResult screenWindow(CatalogSnapshot catalog, boolean[] dirty, ScreeningProgress progress) {
+        return conjunctionScreener.screen(catalog, LocalDateTime.now(ZoneOffset.UTC), windowHours * 3600,
+                windowStepSeconds, COLLISION_THRESHOLD, dirty, progress);
+    }
 
-        //save all predictions to db
-        if (!predictions.isEmpty()) {
-            collisionRepository.saveAll(predictions);
-            System.out.println("Saved " + predictions.size() + " collision prediction to database");
+    //snapshot hits have no time dimension, the approach is "now" (UTC, like the window mode's TCAs)
+    //positions sit on a sphere of earth radius + altitude, so the radial miss is the altitude difference
+    private static List<Conjunction> atScreenTime(List<ScreeningHit> hits, List<Satellite> satellites) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        List<Conjunction> conjunctions = new ArrayList<>(hits.size());
+        for (ScreeningHit hit : hits) {
+            double radialMiss = Math.abs(satellites.get(hit.first()).getAltitude() - satellites.get(hit.second()).getAltitude());
+            conjunctions.add(new Conjunction(hit.first(), hit.second(), hit.distance(), radialMiss, now));
         }
-        return predictions;
+        return conjunctions;
     }
 
-    //now calculating 3D Euclidean distance between two satellites
-    //1. Convert both satellite's geodetic coordinates to cartesian (XYZ)
-    //2. Apply pythagorean theorem in 3D space: distance = sqrt((x2-x1)^2 + (y2-yq)^2 +(z2-z1)^2)
-    private double calculateDistance(Satellite sat1, Satellite sat2) {
-        //convert both satellites to 3D cartesian coords
-        double[] pos1 = latLonAltToXYZ(sat1);
-        double[] pos2 = latLonAltToXYZ(sat2);
+    //incremental run: only satellites changed since the last screen are checked, against a grid of the whole
+    //catalog, and only predictions involving them are replaced, so the cost follows churn rather than catalog size
+    private List<CollisionPrediction> detectChanged(CatalogChangeTracker.ChangeSet changes, ScreeningProgress progress) {
+        System.out.println("Starting incremental collision detection for " + changes.changed().size()
+                + " changed and " + changes.removed().size() + " removed satellites...");
+
+        progress.setPhase(ScreeningPhase.LOADING_CATALOG);
+        IndexedCatalog indexed = catalogIndex.fresh();
+        CatalogSnapshot catalog = indexed.snapshot();
+        List<Satellite> satellites = catalog.satellites();
+
+        //changed satellites still in the catalog, by snapshot index
+        boolean[] dirty = new boolean[catalog.size()];
+        List<Integer> dirtyIndexes = new ArrayList<>();
+        for (Long id : changes.changed()) {
+            int index = catalog.indexOf(id);
+            if (index >= 0) {
+                dirty[index] = true;
+                dirtyIndexes.add(index);
+            }
+        }
+        progress.setSatellites(dirtyIndexes.size());
+        progress.throwIfCancelled();
+        progress.setPhase(ScreeningPhase.SCREENING);
+
+        List<Conjunction> conjunctions;
+        if (screeningMode == ScreeningMode.WINDOW) {
+            //same window screen as a full run, restricted to pairs with a changed satellite
+            conjunctions = screenWindow(catalog, dirty, progress).conjunctions();
+        } else {
+            conjunctions = atScreenTime(screenNeighbours(indexed, dirty, dirtyIndexes, progress), satellites);
+        }
+
+        List<CollisionPrediction> predictions = new ArrayList<>();
+        toPredictions(conjunctions, satellites, predictions);
+
+        System.out.println("Checked " + progress.getPairsChecked() + " satellite pairs");
+        System.out.println("Found " + predictions.size() + " potential collisions involving changed satellites");
+
+        progress.throwIfCancelled();
+        progress.setPhase(ScreeningPhase.PERSISTING);
 
-        //calculating diff in each dimension
-        double dx = pos2[0] - pos1[0];
-        double dy = pos2[1] - pos1[1];
-        double dz = pos2[2] - pos1[2];
+        persistenceService.replaceInvolving(changes.affected(), predictions).forEach(alertService::addToRecentAlerts);
 
-        //pythag theorem in 3D (based on Baeldung java distance maths)
-        //gives straight line distance through 3D space
-        return Math.sqrt(dx*dx + dy*dy + dz*dz);
+        return predictions;
     }
 
-    //converting satellite position from geodetic coords (lat/long/alt) to 3D cartesian coords (x,y,z)
-    //uses speherical to cartesian transformation:
-    //- X = (R + altitude) * cos(latitude) * cos(longitude)
-    //- Y = (R + altitude) * cos(latitude) * sin(longitude)
-    //- Z = (R + altitude) * sin(latitude)
-    //where R is Earth's radius at sea level (6371 km)
+    //changed satellites against the persistent grid of the whole snapshot, each pair once
+    private static List<ScreeningHit> screenNeighbours(IndexedCatalog indexed, boolean[] dirty,
+                                                       List<Integer> dirtyIndexes, ScreeningProgress progress) {
+        SatellitePositions positions = indexed.snapshot().positions();
+        SpatialGrid grid = indexed.grid();
+        double thresholdSquared = COLLISION_THRESHOLD * COLLISION_THRESHOLD;
+        List<ScreeningHit> hits = new ArrayList<>();
+        long[] pairsChecked = new long[1];
+        for (int i : dirtyIndexes) {
+            grid.forEachNeighbour(positions.x(i), positions.y(i), positions.z(i), j -> {
+                //a pair of two changed satellites is checked once, from its lower index
+                if (j == i || (dirty[j] && j < i)) {
+                    return;
+                }
+                pairsChecked[0]++;
+                double distanceSquared = positions.distanceSquared(i, j);
+                if (distanceSquared < thresholdSquared) {
+                    hits.add(new ScreeningHit(Math.min(i, j), Math.max(i, j), Math.sqrt(distanceSquared)));
+                }
+            });
+        }
+        hits.sort(null);
+        progress.addPairsChecked(pairsChecked[0]);
+        progress.addHits(hits.size());
+        return hits;
+    }
 
-    private double[] latLonAltToXYZ(Satellite sat) {
-        //convert degrees to radians (java trig functions use radians)
-        double latRad = Math.toRadians(sat.getLatitude());
-        double lonRad = Math.toRadians(sat.getLongitude());
+    //pairs each prefilter removed, as a share of all n*(n-1)/2 pairs
+    private static void reportPruning(Map<String, Long> pruned, long satellites) {
+        long allPairs = satellites * (satellites - 1) / 2;
+        pruned.forEach((filter, removed) -> System.out.println("Prefilter " + filter + " removed " + removed
+                + " pairs (" + String.format("%.1f", allPairs == 0 ? 0.0 : 100.0 * removed / allPairs) + "% of all pairs)"));
+    }
 
-        //distnace from earth's center equals earth radisu plus altitude above sea level
-        double r = EARTH_RADIUS + sat.getAltitude();
+    private void toPredictions(List<Conjunction> conjunctions, List<Satellite> satellites,
+                               List<CollisionPrediction> predictions) {
+        double[] probabilities = probabilityEstimator.estimate(conjunctions, satellites);
+        for (int i = 0; i < conjunctions.size(); i++) {
+            Conjunction conjunction = conjunctions.get(i);
+            Satellite sat1 = satellites.get(conjunction.first());
+            Satellite sat2 = satellites.get(conjunction.second());
 
-        //apply speherical to cartesian coordinate transformation
-        //which converts from (lat,lon,alt) to (x,y,z)
-        double x = r * Math.cos(latRad) * Math.cos(lonRad);
-        double y = r * Math.cos(latRad) * Math.sin(lonRad);
-        double z = r * Math.sin(latRad);
+            CollisionPrediction prediction = createPrediction(sat1, sat2, conjunction.distance(), conjunction.tca(),
+                    probabilities[i]);
+            predictions.add(prediction);
 
-        return new double[]{x, y, z};
+            System.out.println("COLLISION RISK: " + sat1.getName() + " and " + sat2.getName() + " are " + String.format("%.2f", conjunction.distance()) + " km apart at " + conjunction.tca() + "!");
+        }
     }
 
     //creating CollisionPrediction object with risk assessment
@@ -141,57 +295,35 @@ public class CollisionDetectionService {
     //CRITICAL (<2km): High prob of collision
     //WARNING(<2-3.5km): Moderate risk, needs monitoring
     //INFO (3.5-5km): Low risk, info alert
+    //probability comes from CollisionProbabilityEstimator, the score is the same value in percent
 
-    private CollisionPrediction createPrediction(Satellite sat1, Satellite sat2, double distance) {
+    private CollisionPrediction createPrediction(Satellite sat1, Satellite sat2, double distance, LocalDateTime time,
+                                                 double probability) {
         CollisionPrediction prediction = new CollisionPrediction();
 
         //set satellite references
         prediction.setSatellite1(sat1);
         prediction.setSatellite2(sat2);
 
-        //set distance & time
+        //set distance & time of closest approach
         prediction.setMinimumDistance(distance);
-        prediction.setPredictedTime(LocalDateTime.now());
+        prediction.setPredictedTime(time);
 
         //assign risk level & probability
-        if (distance < CRITICAL_DISTANCE) {
-            prediction.setRiskLevel("CRITICAL");
-            prediction.setProbabilityScore(PROBABILITY_CRITICAL);
-        } else if (distance < WARNING_DISTANCE) {
-            prediction.setRiskLevel("WARNING");
-            prediction.setProbabilityScore(PROBABILITY_WARNING);
-        } else {
-            prediction.setRiskLevel("INFO");
-            prediction.setProbabilityScore(PROBABILITY_INFO);
-        }
+        prediction.setRiskLevel(riskLevel(distance));
+        prediction.setCollisionProbability(probability);
+        prediction.setProbabilityScore((int) Math.round(Math.min(1.0, probability) * 100));
 
         prediction.setStatus("ACTIVE");
-        prediction = collisionRepository.save(prediction);
-
-        Alert alert = createAlert(prediction);
-        alertService.saveAlert(alert);
-
         return prediction;
     }
 
-    //helper to create alert from prediction
-    private Alert createAlert(CollisionPrediction prediction) {
-        Alert alert = new Alert();
-        alert.setPrediction(prediction);
-        alert.setAlertLevel(prediction.getRiskLevel());
-        alert.setMessage(buildAlertMessage(prediction));
-        alert.setSentAt(LocalDateTime.now());
-        alert.setAcknowledged(false);
-        return alert;
-    }
-
-    private String buildAlertMessage(CollisionPrediction prediction) {
-        return String.format("COLLISION ALERT: %s and %s are %.2f km apart (Risk: %s)",
-                prediction.getSatellite1().getName(),
-                prediction.getSatellite2().getName(),
-                prediction.getMinimumDistance(),
-                prediction.getRiskLevel()
-        );
+    //risk level for a miss distance, also used by the one-vs-catalog queries
+    static String riskLevel(double distance) {
+        if (distance < CRITICAL_DISTANCE) {
+            return "CRITICAL";
+        }
+        return distance < WARNING_DISTANCE ? "WARNING" : "INFO";
     }
 
     //get count of satellites currently in db
@@ -201,6 +333,6 @@ public class CollisionDetectionService {
 
     //get count of active collision predictions
     public long getCollisionCount() {
-        return collisionRepository.findByStatus("ACTIVE").size();
+        return collisionRepository.countByStatus("ACTIVE");
     }
 }
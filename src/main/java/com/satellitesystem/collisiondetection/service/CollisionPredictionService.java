@@ -3,6 +3,7 @@ package com.satellitesystem.collisiondetection.service;
 import com.satellitesystem.collisiondetection.model.CollisionPrediction;
 import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import java.util.List;
 
@@ -12,16 +13,23 @@ public class CollisionPredictionService {
     @Autowired
     private CollisionPredictionRepository repository;
 
+    @Autowired
+    private KeysetPaging paging;
+
     public List<CollisionPrediction> getAllPredictions() {
         return repository.findAll();
     }
 
-    public List<CollisionPrediction> getActivePredictions() {
-        return repository.findByStatus("ACTIVE");
+    public KeysetPage<PredictionSummary> getActivePredictions(Long after, Integer limit) {
+        int size = paging.size(limit);
+        return KeysetPage.of(repository.findSummariesByStatusAfter("ACTIVE", KeysetPaging.after(after), Limit.of(size)),
+                size, PredictionSummary::id);
     }
 
-    public List<CollisionPrediction> getCriticalPredictions() {
-        return repository.findByRiskLevel("CRITICAL");
+    public KeysetPage<PredictionSummary> getCriticalPredictions(Long after, Integer limit) {
+        int size = paging.size(limit);
+        return KeysetPage.of(repository.findSummariesByRiskLevelAfter("CRITICAL", KeysetPaging.after(after), Limit.of(size)),
+                size, PredictionSummary::id);
     }
 
     public CollisionPrediction savePrediction(CollisionPrediction prediction) {
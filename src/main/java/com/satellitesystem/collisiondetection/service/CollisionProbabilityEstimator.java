@@ -0,0 +1,139 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+//probability of collision (Pc) for conjunctions that passed screening
+//short encounter model: the relative position error at closest approach is a 2D gaussian in the encounter plane,
+//whose axes are taken as radial and horizontal (LEO encounters are close to horizontal), with the combined
+//uncertainty of both objects; Pc is the chance the relative position falls inside the hard body radius
+//the catalog carries no covariance, so per object sigmas come from config (TLE errors are mostly along track)
+//low risk cases take an analytic fast path, the rest are Monte Carlo sampled in parallel batches until the
+//95% confidence interval is within the relative tolerance or the sample budget runs out
+@Component
+public class CollisionProbabilityEstimator {
+
+    private static final double Z_95 = 1.96;
+
+    @Autowired
+    private ParallelScreeningEngine engine;
+
+    @Value("${collision.pc.hard-body-radius-km:0.02}")
+    private double hardBodyRadius;
+
+    @Value("${collision.pc.sigma-radial-km:0.1}")
+    private double sigmaRadial;
+
+    @Value("${collision.pc.sigma-horizontal-km:1.0}")
+    private double sigmaHorizontal;
+
+    //analytic estimate is used when Pc is provably below this
+    @Value("${collision.pc.analytic-below:1e-4}")
+    private double analyticBelow;
+
+    //sampling stops once the 95% interval half width is under this share of the estimate
+    @Value("${collision.pc.relative-tolerance:0.1}")
+    private double relativeTolerance;
+
+    @Value("${collision.pc.batch-samples:65536}")
+    private int batchSamples;
+
+    @Value("${collision.pc.max-samples:4000000}")
+    private long maxSamples;
+
+    //Pc for every conjunction, in list order; conjunctions are scored in parallel on the screening pool
+    public double[] estimate(List<Conjunction> conjunctions, List<Satellite> satellites) {
+        if (conjunctions.isEmpty()) {
+            return new double[0];
+        }
+        try {
+            return engine.getPool().submit(() -> IntStream.range(0, conjunctions.size()).parallel()
+                    .mapToDouble(i -> {
+                        Conjunction conjunction = conjunctions.get(i);
+                        //seeded by the pair so a re-screen of the same geometry gives the same Pc
+                        long seed = 31 * satellites.get(conjunction.first()).getId() + satellites.get(conjunction.second()).getId();
+                        return estimate(conjunction.distance(), conjunction.radialMiss(), seed);
+                    }).toArray()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pc estimation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Pc estimation failed", e.getCause());
+        }
+    }
+
+    //Pc for a miss of distance km, radialMiss km of it along the radial axis
+    public double estimate(double distance, double radialMiss, long seed) {
+        double radial = Math.min(Math.abs(radialMiss), distance);
+        double horizontal = Math.sqrt(distance * distance - radial * radial);
+        double sigmaR = Math.sqrt(2) * sigmaRadial;
+        double sigmaH = Math.sqrt(2) * sigmaHorizontal;
+
+        //density at the closest point of the hard body disc times its area bounds Pc from above
+        double nearR = Math.max(0, radial - hardBodyRadius) / sigmaR;
+        double nearH = Math.max(0, horizontal - hardBodyRadius) / sigmaH;
+        double bound = areaOverNormalisation(sigmaR, sigmaH) * Math.exp(-0.5 * (nearR * nearR + nearH * nearH));
+        if (bound < analyticBelow) {
+            return analytic(radial, horizontal, sigmaR, sigmaH);
+        }
+        return sample(radial, horizontal, sigmaR, sigmaH, seed);
+    }
+
+    //disc area times the density at the miss point, accurate while the disc is small against the sigmas
+    private double analytic(double radial, double horizontal, double sigmaR, double sigmaH) {
+        double r = radial / sigmaR;
+        double h = horizontal / sigmaH;
+        return areaOverNormalisation(sigmaR, sigmaH) * Math.exp(-0.5 * (r * r + h * h));
+    }
+
+    //pi R^2 / (2 pi sigmaR sigmaH)
+    private double areaOverNormalisation(double sigmaR, double sigmaH) {
+        return hardBodyRadius * hardBodyRadius / (2 * sigmaR * sigmaH);
+    }
+
+    private double sample(double radial, double horizontal, double sigmaR, double sigmaH, long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        int batches = engine.getParallelism();
+        long hits = 0;
+        long samples = 0;
+        while (samples < maxSamples) {
+            //children are split before the round starts so the result does not depend on scheduling
+            SplittableRandom[] streams = new SplittableRandom[batches];
+            for (int b = 0; b < batches; b++) {
+                streams[b] = root.split();
+            }
+            hits += IntStream.range(0, batches).parallel()
+                    .mapToLong(b -> countHits(streams[b], radial, horizontal, sigmaR, sigmaH))
+                    .sum();
+            samples += (long) batches * batchSamples;
+
+            double p = (double) hits / samples;
+            double halfWidth = Z_95 * Math.sqrt(p * (1 - p) / samples);
+            if (hits > 0 && halfWidth <= relativeTolerance * p) {
+                break;
+            }
+        }
+        //nothing landed inside the budget, the analytic value is the better guess
+        return hits == 0 ? analytic(radial, horizontal, sigmaR, sigmaH) : (double) hits / samples;
+    }
+
+    private long countHits(SplittableRandom random, double radial, double horizontal, double sigmaR, double sigmaH) {
+        double radiusSquared = hardBodyRadius * hardBodyRadius;
+        long hits = 0;
+        for (int s = 0; s < batchSamples; s++) {
+            double r = radial + sigmaR * random.nextGaussian();
+            double h = horizontal + sigmaH * random.nextGaussian();
+            if (r * r + h * h < radiusSquared) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
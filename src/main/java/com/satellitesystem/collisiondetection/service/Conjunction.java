@@ -0,0 +1,16 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.time.LocalDateTime;
+
+//one close approach: catalog indexes (first < second), miss distance in km and time of closest approach
+//radialMiss is the difference of the two geocentric radii at that time, the radial part of the miss (km)
+//snapshot screens have no time dimension and stamp the time of the screen
+public record Conjunction(int first, int second, double distance, double radialMiss, LocalDateTime tca)
+        implements Comparable<Conjunction> {
+
+    @Override
+    public int compareTo(Conjunction other) {
+        int byFirst = Integer.compare(first, other.first);
+        return byFirst != 0 ? byFirst : Integer.compare(second, other.second);
+    }
+}
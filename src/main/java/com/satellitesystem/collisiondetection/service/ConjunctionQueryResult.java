@@ -0,0 +1,7 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.util.List;
+
+//answer to one query: close approaches nearest first, and the catalog version it was screened against
+public record ConjunctionQueryResult(String label, long catalogVersion, List<CloseApproach> approaches) {
+}
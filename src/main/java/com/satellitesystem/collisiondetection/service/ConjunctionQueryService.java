@@ -0,0 +1,95 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+//one-vs-catalog screening: "is this object (or this planned state) close to anything right now?"
+//queries run against the persistent CatalogIndex, never touch stored predictions or alerts, and cost a
+//handful of grid cells each; a batch of states (e.g. candidate maneuvers) is screened in parallel
+@Service
+public class ConjunctionQueryService {
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private ParallelScreeningEngine engine;
+
+    //largest radius a query may ask for, bigger radii scan more grid rings
+    @Value("${screening.query.max-threshold:50}")
+    private double maxThreshold;
+
+    //null if the satellite is not in the catalog
+    public ConjunctionQueryResult screenSatellite(long satelliteId, double threshold) {
+        checkThreshold(threshold);
+        IndexedCatalog indexed = catalogIndex.current();
+        int index = indexed.snapshot().indexOf(satelliteId);
+        if (index < 0) {
+            return null;
+        }
+        SatellitePositions positions = indexed.snapshot().positions();
+        Satellite satellite = indexed.snapshot().satellites().get(index);
+        return screen(indexed, satellite.getName(), positions.x(index), positions.y(index), positions.z(index),
+                satelliteId, threshold);
+    }
+
+    //results come back in the order of the queries
+    public List<ConjunctionQueryResult> screenStates(List<StateQuery> queries, double threshold) {
+        checkThreshold(threshold);
+        IndexedCatalog indexed = catalogIndex.current();
+        try {
+            return engine.getPool().submit(() -> queries.parallelStream().map(query -> {
+                double[] x = new double[1];
+                double[] y = new double[1];
+                double[] z = new double[1];
+                SatellitePositions.toCartesian(query.latitude(), query.longitude(), query.altitude(), x, y, z, 0);
+                return screen(indexed, query.label(), x[0], y[0], z[0], query.excludeSatelliteId(), threshold);
+            }).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("State screening interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("State screening failed", e.getCause());
+        }
+    }
+
+    private ConjunctionQueryResult screen(IndexedCatalog indexed, String label, double x, double y, double z,
+                                          Long excludeSatelliteId, double threshold) {
+        CatalogSnapshot snapshot = indexed.snapshot();
+        SatellitePositions positions = snapshot.positions();
+        double thresholdSquared = threshold * threshold;
+        int rings = (int) Math.ceil(threshold / indexed.grid().cellSize());
+
+        List<CloseApproach> approaches = new ArrayList<>();
+        indexed.grid().forEachNear(x, y, z, rings, j -> {
+            double dx = positions.x(j) - x;
+            double dy = positions.y(j) - y;
+            double dz = positions.z(j) - z;
+            double distanceSquared = dx * dx + dy * dy + dz * dz;
+            Satellite other = snapshot.satellites().get(j);
+            if (distanceSquared < thresholdSquared && !other.getId().equals(excludeSatelliteId)) {
+                double distance = Math.sqrt(distanceSquared);
+                approaches.add(new CloseApproach(other.getId(), other.getNoradId(), other.getName(), distance,
+                        CollisionDetectionService.riskLevel(distance)));
+            }
+        });
+        approaches.sort(Comparator.comparingDouble(CloseApproach::distance));
+        return new ConjunctionQueryResult(label, snapshot.version(), approaches);
+    }
+
+    private void checkThreshold(double threshold) {
+        if (threshold <= 0 || threshold > maxThreshold) {
+            throw new IllegalArgumentException("Threshold must be in (0, " + maxThreshold + "] km: " + threshold);
+        }
+    }
+}
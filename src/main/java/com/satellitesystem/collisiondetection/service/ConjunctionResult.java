@@ -0,0 +1,9 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.util.List;
+import java.util.Map;
+
+//output of a time-window screen: closest approach per pair under the threshold, in (first, second) order,
+//how many pair samples were distance checked and how many the shell prefilter removed
+public record ConjunctionResult(List<Conjunction> conjunctions, long pairsChecked, Map<String, Long> pruned) {
+}
@@ -0,0 +1,307 @@
+package com.satellitesystem.collisiondetection.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+//time-window conjunction screen over the propagated catalog
+//coarse pass: the window is cut into fixed steps, positions for every step come from the off-heap ephemeris
+//(EphemerisStore, reused across runs while the catalog is unchanged) and each step is gridded with a cell
+//size padded by how far a pair can close within one step, so any pair whose closest approach falls inside
+//[t, t + step] is still a candidate at t
+//segment pass: the ephemeris holds both ends of the step, so each candidate's closest approach along the straight
+//line between them is cheap; the real relative path bends away from that chord by at most a_max * step^2 / 4,
+//so pairs whose chord stays further than threshold + that margin are dropped without propagating anything
+//fine pass: for the rest the range rate (relative position . relative velocity) is root-found over the
+//step, its zero is the time of closest approach (TCA); only the closest approach per pair is kept
+//steps are independent and run in parallel on the screening engine's pool
+@Component
+public class ConjunctionScreener {
+
+    //range rate root is found to well under a millisecond
+    private static final double TCA_TOLERANCE_SECONDS = 1e-4;
+    private static final int MAX_ROOT_ITERATIONS = 60;
+
+    @Autowired
+    private ParallelScreeningEngine engine;
+
+    @Autowired
+    private EphemerisStore ephemerisStore;
+
+    //per worker step grid, rebuilt in place every step
+    private final ThreadLocal<StepGrid> stepGrids = ThreadLocal.withInitial(StepGrid::new);
+
+    //screens [from, from + windowSeconds] (aligned down to the ephemeris step grid), dirty (by catalog index,
+    //may be null) limits the screen to pairs with at least one dirty satellite
+    public ConjunctionResult screen(CatalogSnapshot catalog, LocalDateTime from, double windowSeconds,
+                                    double stepSeconds, double threshold, boolean[] dirty, ScreeningProgress progress) {
+        try (Ephemeris ephemeris = ephemerisStore.get(catalog, from, windowSeconds, stepSeconds)) {
+            OrbitPropagator propagator = ephemeris.propagator();
+            int m = propagator.size();
+            if (m < catalog.size()) {
+                System.out.println((catalog.size() - m) + " satellites have no element set and are left out of the window screen");
+            }
+
+            double[] low = new double[m];
+            double[] high = new double[m];
+            for (int k = 0; k < m; k++) {
+                low[k] = propagator.perigeeRadius(k);
+                high[k] = propagator.apogeeRadius(k);
+            }
+            ShellBands bands = ShellBands.of(low, high);
+
+            //dirty satellites by propagator index, an incremental screen only walks their neighbourhoods
+            boolean[] dirtyObjects = null;
+            int[] dirtyList = null;
+            if (dirty != null) {
+                dirtyObjects = new boolean[m];
+                for (int k = 0; k < m; k++) {
+                    dirtyObjects[k] = dirty[propagator.catalogIndex(k)];
+                }
+                boolean[] flags = dirtyObjects;
+                dirtyList = IntStream.range(0, m).filter(k -> flags[k]).toArray();
+            }
+
+            //two objects close at most 2 * max speed per second, plus slack for the float positions
+            double pad = threshold + 2 * propagator.maxSpeed() * stepSeconds + 0.01;
+            //relative acceleration is at most twice gravity at the lowest perigee (J2 adds ~0.1%), the chord of
+            //a path with bounded acceleration a strays at most a * step^2 / 8 from it
+            double lowestRadius = Arrays.stream(low).min().orElse(1);
+            double relativeAcceleration = 2.01 * OrbitPropagator.MU_EARTH / (lowestRadius * lowestRadius);
+            double curvature = relativeAcceleration * stepSeconds * stepSeconds / 8 + 0.01;
+            int firstStep = EphemerisStore.stepAt(ephemeris, from);
+            int steps = (int) Math.ceil(windowSeconds / stepSeconds);
+            System.out.println("Window screen: " + m + " objects, " + steps + " steps of " + stepSeconds + "s, candidate pad "
+                    + String.format("%.1f", pad) + " km");
+
+            Map<Long, Conjunction> closest = new ConcurrentHashMap<>();
+            LongAdder pairsChecked = new LongAdder();
+            LongAdder shellRemoved = new LongAdder();
+            LongAdder refined = new LongAdder();
+            StepContext context = new StepContext(ephemeris, bands, firstStep, firstStep * stepSeconds + windowSeconds,
+                    steps, threshold, pad, threshold + curvature, dirtyObjects, dirtyList, closest, pairsChecked, shellRemoved, refined,
+                    progress, stepGrids,
+                    new AtomicBoolean(), new Phaser(1));
+
+            try {
+                engine.getPool().submit(() -> IntStream.range(0, steps).parallel().forEach(context::runStep)).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                context.stop();
+                throw new IllegalStateException("Window screen interrupted", e);
+            } catch (ExecutionException e) {
+                context.stop();
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Window screen failed", e.getCause());
+            }
+
+            List<Conjunction> conjunctions = new ArrayList<>(closest.values());
+            Collections.sort(conjunctions);
+            progress.addHits(conjunctions.size());
+            System.out.println("Window screen refined " + refined.sum() + " of " + pairsChecked.sum() + " candidate pairs");
+            return new ConjunctionResult(conjunctions, pairsChecked.sum(), Map.of("shell", shellRemoved.sum()));
+        }
+    }
+
+    //everything one step needs, shared read-only between the step tasks
+    //times are seconds since the ephemeris start, steps are indexes into the ephemeris
+    private record StepContext(Ephemeris ephemeris, ShellBands bands, int firstStep, double windowEnd, int steps,
+                               double threshold, double pad, double chordLimit, boolean[] dirtyObjects, int[] dirtyList,
+                               Map<Long, Conjunction> closest, LongAdder pairsChecked, LongAdder shellRemoved,
+                               LongAdder refined, ScreeningProgress progress, ThreadLocal<StepGrid> stepGrids,
+                               AtomicBoolean stopped, Phaser running) {
+
+        //steps of a failed or interrupted screen can still be running when get() returns, and the ephemeris
+        //drops its chunks once closed, so every read happens inside runStep and stop() waits for them to leave
+        //each running step is a phaser party, the screening thread holds one more, so the first phase
+        //can only end after stop() arrived and every step that got in has left
+        void runStep(int offset) {
+            running.register();
+            try {
+                if (!stopped.get()) {
+                    screenStep(offset);
+                }
+            } finally {
+                running.arriveAndDeregister();
+            }
+        }
+
+        //blocks (without spinning) until in-flight steps are done, steps starting later see the flag and skip
+        void stop() {
+            stopped.set(true);
+            running.arriveAndAwaitAdvance();
+        }
+
+        void screenStep(int offset) {
+            progress.throwIfCancelled();
+            OrbitPropagator propagator = ephemeris.propagator();
+            int m = propagator.size();
+            int step = firstStep + offset;
+            double start = step * ephemeris.stepSeconds();
+            double end = Math.min(start + ephemeris.stepSeconds(), windowEnd);
+
+            //positions straight from the mapped ephemeris, nothing per object is kept on the heap
+            StepGrid grid = stepGrids.get();
+            grid.reset(pad, m);
+            for (int k = 0; k < m; k++) {
+                grid.insert(k, ephemeris.x(step, k), ephemeris.y(step, k), ephemeris.z(step, k));
+            }
+
+            double padSquared = pad * pad;
+            double chordLimitSquared = chordLimit * chordLimit;
+            double[] first = new double[6];
+            double[] second = new double[6];
+            long[] counts = new long[3];
+            SpatialGrid.PairConsumer candidate = (p, q) -> {
+                if (!bands.overlap(p, q, threshold)) {
+                    counts[1]++;
+                    return;
+                }
+                counts[0]++;
+                double dx = ephemeris.x(step, q) - ephemeris.x(step, p);
+                double dy = ephemeris.y(step, q) - ephemeris.y(step, p);
+                double dz = ephemeris.z(step, q) - ephemeris.z(step, p);
+                if (dx * dx + dy * dy + dz * dz < padSquared
+                        && chordDistanceSquared(step, p, q, dx, dy, dz) < chordLimitSquared) {
+                    counts[2]++;
+                    refine(p, q, start, end, offset == 0, offset == steps - 1, first, second);
+                }
+            };
+            if (dirtyList == null) {
+                grid.forEachCandidatePair(candidate);
+            } else {
+                //every object is in the grid, but only pairs with a dirty member are generated
+                for (int k : dirtyList) {
+                    grid.forEachNeighbour(ephemeris.x(step, k), ephemeris.y(step, k), ephemeris.z(step, k), j -> {
+                        //a pair of two dirty objects is taken once, from its higher index
+                        if (j == k || (dirtyObjects[j] && j > k)) {
+                            return;
+                        }
+                        candidate.accept(Math.min(j, k), Math.max(j, k));
+                    });
+                }
+            }
+            pairsChecked.add(counts[0]);
+            shellRemoved.add(counts[1]);
+            refined.add(counts[2]);
+            progress.addPairsChecked(counts[0]);
+        }
+
+        //squared closest distance along the straight segment from the relative position at this step (dx, dy, dz)
+        //to the one at the next step
+        private double chordDistanceSquared(int step, int p, int q, double dx, double dy, double dz) {
+            double ex = ephemeris.x(step + 1, q) - ephemeris.x(step + 1, p) - dx;
+            double ey = ephemeris.y(step + 1, q) - ephemeris.y(step + 1, p) - dy;
+            double ez = ephemeris.z(step + 1, q) - ephemeris.z(step + 1, p) - dz;
+            double length = ex * ex + ey * ey + ez * ez;
+            double s = length == 0 ? 0 : Math.max(0, Math.min(1, -(dx * ex + dy * ey + dz * ez) / length));
+            double cx = dx + s * ex;
+            double cy = dy + s * ey;
+            double cz = dz + s * ez;
+            return cx * cx + cy * cy + cz * cz;
+        }
+
+        //finds the closest approach of p and q inside [start, end] and keeps it if it is under the threshold
+        //a minimum on the step boundary belongs to the step that ends there, except at the window edges
+        private void refine(int p, int q, double start, double end, boolean firstStep, boolean lastStep,
+                            double[] first, double[] second) {
+            double rateStart = rangeRate(p, q, start, first, second);
+            double rateEnd = rangeRate(p, q, end, first, second);
+
+            double tca;
+            if (rateStart >= 0) {
+                //already separating, only a minimum if the window starts here
+                if (!firstStep) {
+                    return;
+                }
+                tca = start;
+            } else if (rateEnd < 0) {
+                //still closing, only a minimum if the window ends here
+                if (!lastStep) {
+                    return;
+                }
+                tca = end;
+            } else {
+                tca = rangeRateRoot(p, q, start, rateStart, end, rateEnd, first, second);
+            }
+
+            double distance = distance(p, q, tca, first, second);
+            if (distance >= threshold) {
+                return;
+            }
+            int a = ephemeris.propagator().catalogIndex(p);
+            int b = ephemeris.propagator().catalogIndex(q);
+            //distance() left both states at the tca
+            double radialMiss = Math.abs(radius(first) - radius(second));
+            Conjunction conjunction = new Conjunction(Math.min(a, b), Math.max(a, b), distance, radialMiss,
+                    ephemeris.start().plusNanos(Math.round(tca * 1e9)));
+            long key = ((long) conjunction.first() << 32) | conjunction.second();
+            closest.merge(key, conjunction, (current, candidate) -> candidate.distance() < current.distance() ? candidate : current);
+        }
+
+        //illinois variant of regula falsi on the range rate, bracketed by a negative and a non-negative value
+        private double rangeRateRoot(int p, int q, double low, double rateLow, double high, double rateHigh,
+                                     double[] first, double[] second) {
+            int side = 0;
+            double t = low;
+            for (int iteration = 0; iteration < MAX_ROOT_ITERATIONS && high - low > TCA_TOLERANCE_SECONDS; iteration++) {
+                t = (low * rateHigh - high * rateLow) / (rateHigh - rateLow);
+                double rate = rangeRate(p, q, t, first, second);
+                if (rate < 0) {
+                    low = t;
+                    rateLow = rate;
+                    if (side == -1) {
+                        rateHigh /= 2;
+                    }
+                    side = -1;
+                } else if (rate > 0) {
+                    high = t;
+                    rateHigh = rate;
+                    if (side == 1) {
+                        rateLow /= 2;
+                    }
+                    side = 1;
+                } else {
+                    return t;
+                }
+            }
+            return t;
+        }
+
+        //half the time derivative of the squared distance, negative while closing
+        private double rangeRate(int p, int q, double t, double[] first, double[] second) {
+            ephemeris.propagator().stateAt(p, t, first);
+            ephemeris.propagator().stateAt(q, t, second);
+            return (second[0] - first[0]) * (second[3] - first[3])
+                    + (second[1] - first[1]) * (second[4] - first[4])
+                    + (second[2] - first[2]) * (second[5] - first[5]);
+        }
+
+        private static double radius(double[] state) {
+            return Math.sqrt(state[0] * state[0] + state[1] * state[1] + state[2] * state[2]);
+        }
+
+        private double distance(int p, int q, double t, double[] first, double[] second) {
+            ephemeris.propagator().stateAt(p, t, first);
+            ephemeris.propagator().stateAt(q, t, second);
+            double dx = second[0] - first[0];
+            double dy = second[1] - first[1];
+            double dz = second[2] - first[2];
+            return Math.sqrt(dx * dx + dy * dy + dz * dz);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.repository.AlertRepository;
+import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+//bulk resets for screening results and the satellite catalog
+//a full reset on postgres is a single TRUNCATE (constant time, no rows are read or logged one by one),
+//other databases fall back to one set based DELETE per table, still without loading any entities
+//screening results are always cleared with a DELETE, see clearScreeningResults
+@Service
+public class DataResetService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private CollisionPredictionRepository collisionRepository;
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private CatalogChangeTracker changeTracker;
+
+    private Boolean postgres;
+
+    //predictions, done before every full screening run
+    //alerts are kept, runs coalesce into them (they reference satellites, not predictions)
+    //one set based DELETE rather than a TRUNCATE: it runs inside the run's swap transaction, and a TRUNCATE
+    //would hold an ACCESS EXCLUSIVE lock on the table until commit, blocking every page read, count and export
+    //for the whole batch insert (and queueing behind any export already running); a DELETE only locks the rows,
+    //so readers keep seeing the previous run until the swap commits
+    @Transactional
+    public void clearScreeningResults() {
+        collisionRepository.deleteAllInBatch();
+        entityManager.clear();
+    }
+
+    //everything including the satellite catalog
+    @Transactional
+    public void clearAll() {
+        if (isPostgres()) {
+            entityManager.createNativeQuery("TRUNCATE TABLE alert, collision_prediction, satellite").executeUpdate();
+        } else {
+            alertRepository.deleteAllInBatch();
+            collisionRepository.deleteAllInBatch();
+            satelliteRepository.deleteAllInBatch();
+        }
+        entityManager.clear();
+        changeTracker.catalogReset();
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                System.err.println("Could not read database type, using DELETE for resets: " + e.getMessage());
+                postgres = false;
+            }
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,15 @@
+package com.satellitesystem.collisiondetection.service;
+
+//narrow phase: tests one object against a block of candidates and writes the candidates under the threshold
+//into out (which must have room for the whole block), returning how many it wrote, in block order
+public interface DistanceKernel {
+
+    //candidates are the contiguous indexes [from, to)
+    int withinRange(SatellitePositions positions, int i, int from, int to, double thresholdSquared, int[] out);
+
+    //candidates are candidates[from, to)
+    int withinIndexes(SatellitePositions positions, int i, int[] candidates, int from, int to,
+                      double thresholdSquared, int[] out);
+
+    String name();
+}
@@ -0,0 +1,37 @@
+package com.satellitesystem.collisiondetection.service;
+
+//picks the narrow-phase kernel: VECTOR needs the JVM started with --add-modules jdk.incubator.vector,
+//AUTO uses it when it is there and quietly falls back to the scalar loop when it is not
+public final class DistanceKernels {
+
+    private DistanceKernels() {
+    }
+
+    public static DistanceKernel create(String kernel) {
+        return switch (kernel.toUpperCase()) {
+            case "SCALAR" -> new ScalarDistanceKernel();
+            case "VECTOR" -> {
+                if (!vectorModulePresent()) {
+                    throw new IllegalStateException("collision.screening.kernel=VECTOR but the JVM was started without --add-modules jdk.incubator.vector");
+                }
+                yield vectorKernel();
+            }
+            case "AUTO" -> vectorModulePresent() ? vectorKernel() : new ScalarDistanceKernel();
+            default -> throw new IllegalArgumentException("Unknown distance kernel: " + kernel);
+        };
+    }
+
+    //reflective so this class links without the module
+    private static DistanceKernel vectorKernel() {
+        try {
+            return (DistanceKernel) Class.forName("com.satellitesystem.collisiondetection.service.VectorDistanceKernel")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("Vector distance kernel could not be loaded", e);
+        }
+    }
+
+    public static boolean vectorModulePresent() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
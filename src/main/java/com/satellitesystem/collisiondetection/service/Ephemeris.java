@@ -0,0 +1,102 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//propagated positions of every object at every step of a time grid, held in memory-mapped file chunks
+//layout per step is contiguous: x of every object, then y, then z, as 32-bit floats (sub-metre at orbital
+//radii, plenty for the coarse candidate pass; TCA refinement always goes back to the propagator)
+//a chunk holds a whole number of steps so a step never straddles two mappings
+//reads use absolute gets only, so any number of screening threads can share one instance
+//reference counted: EphemerisStore holds one reference while it is current and every get() hands out another,
+//which the screen closes when it is done (try-with-resources); the last close deletes the file and drops the
+//chunks, the mappings (and with them the unlinked file's disk blocks) go when the gc collects the buffers
+public class Ephemeris implements AutoCloseable {
+
+    private final OrbitPropagator propagator;
+    private final long catalogVersion;
+    private final LocalDateTime start;
+    private final double stepSeconds;
+    private final int steps;
+    private final int stepsPerChunk;
+    private final MappedByteBuffer[] chunks;
+    private final Path file;
+    //starts with the store's reference
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    Ephemeris(OrbitPropagator propagator, long catalogVersion, LocalDateTime start, double stepSeconds, int steps,
+              int stepsPerChunk, MappedByteBuffer[] chunks, Path file) {
+        this.propagator = propagator;
+        this.catalogVersion = catalogVersion;
+        this.start = start;
+        this.stepSeconds = stepSeconds;
+        this.steps = steps;
+        this.stepsPerChunk = stepsPerChunk;
+        this.chunks = chunks;
+        this.file = file;
+    }
+
+    //propagator the positions came from, its time zero is start()
+    public OrbitPropagator propagator() { return propagator; }
+    public long catalogVersion() { return catalogVersion; }
+    public LocalDateTime start() { return start; }
+    public double stepSeconds() { return stepSeconds; }
+    public int steps() { return steps; }
+
+    Path file() {
+        return file;
+    }
+
+    //another reference for a reader, only called by the store while it still holds its own
+    Ephemeris retain() {
+        references.incrementAndGet();
+        return this;
+    }
+
+    //drops one reference, call once per get() (and once by the store when it lets go)
+    //no reads may follow: once the count reaches zero the chunks are gone
+    @Override
+    public void close() {
+        int left = references.decrementAndGet();
+        if (left == 0) {
+            release();
+        } else if (left < 0) {
+            throw new IllegalStateException("Ephemeris closed more often than it was handed out");
+        }
+    }
+
+    private void release() {
+        Arrays.fill(chunks, null);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Could not delete ephemeris " + file + ": " + e.getMessage());
+        }
+    }
+
+    public int objects() {
+        return propagator.size();
+    }
+
+    public double x(int step, int k) {
+        return read(step, 0, k);
+    }
+
+    public double y(int step, int k) {
+        return read(step, 1, k);
+    }
+
+    public double z(int step, int k) {
+        return read(step, 2, k);
+    }
+
+    private float read(int step, int axis, int k) {
+        int offset = ((step % stepsPerChunk) * 3 + axis) * objects() + k;
+        return chunks[step / stepsPerChunk].getFloat(offset * Float.BYTES);
+    }
+}
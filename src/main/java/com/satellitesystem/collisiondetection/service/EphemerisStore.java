@@ -0,0 +1,185 @@
+package com.satellitesystem.collisiondetection.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+//off-heap store of propagated trajectories for the time-window screen
+//positions live in a memory-mapped file, so heap use is the same for a 1 hour and a 7 day window; the page
+//cache decides what stays resident
+//an ephemeris is reused across runs until the catalog version changes or a window runs past its end, and it
+//is built a little longer than asked (collision.ephemeris.extra-hours) so the next refreshes still fit
+//disk use is 12 bytes per object per step for the current ephemeris, plus a replaced one until the screens
+//still reading it close it and the gc drops its mappings (an unlinked file keeps its blocks while mapped);
+//files left behind by a previous process are deleted at startup
+@Component
+public class EphemerisStore {
+
+    //mapping size per chunk, a MappedByteBuffer cannot exceed 2GB
+    private static final long CHUNK_BYTES = 1L << 30;
+
+    @Autowired
+    private ParallelScreeningEngine engine;
+
+    private final Path directory;
+    private final double extraHours;
+
+    private Ephemeris current;
+    private int generation;
+
+    public EphemerisStore(@Value("${collision.ephemeris.path:data/ephemeris}") String directory,
+                          @Value("${collision.ephemeris.extra-hours:6}") double extraHours) {
+        this.directory = Path.of(directory);
+        this.extraHours = extraHours;
+    }
+
+    @PostConstruct
+    public void deleteStaleFiles() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory, "ephemeris-*.bin")) {
+            for (Path file : stale) {
+                deleteQuietly(file);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not clean up ephemeris directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    //an ephemeris on a step grid covering [from, from + windowSeconds] for this catalog, built only if needed
+    //the caller owns a reference and must close it when done reading (try-with-resources)
+    public synchronized Ephemeris get(CatalogSnapshot catalog, LocalDateTime from, double windowSeconds, double stepSeconds) {
+        if (current != null && covers(current, catalog.version(), from, windowSeconds, stepSeconds)) {
+            return current.retain();
+        }
+        Path file = directory.resolve("ephemeris-" + (++generation) + ".bin");
+        Ephemeris built;
+        try {
+            built = build(catalog, from, windowSeconds + extraHours * 3600, stepSeconds, file);
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+        replace(built);
+        return built.retain();
+    }
+
+    //first step at or before the given time
+    public static int stepAt(Ephemeris ephemeris, LocalDateTime time) {
+        return (int) Math.floor(secondsSinceStart(ephemeris, time) / ephemeris.stepSeconds());
+    }
+
+    private static double secondsSinceStart(Ephemeris ephemeris, LocalDateTime time) {
+        return Duration.between(ephemeris.start(), time).toNanos() / 1e9;
+    }
+
+    private static boolean covers(Ephemeris ephemeris, long version, LocalDateTime from, double windowSeconds, double stepSeconds) {
+        if (ephemeris.catalogVersion() != version || ephemeris.stepSeconds() != stepSeconds || from.isBefore(ephemeris.start())) {
+            return false;
+        }
+        double end = stepAt(ephemeris, from) * stepSeconds + windowSeconds;
+        return end <= (ephemeris.steps() - 1) * stepSeconds;
+    }
+
+    private Ephemeris build(CatalogSnapshot catalog, LocalDateTime start, double seconds, double stepSeconds, Path file) {
+        long began = System.nanoTime();
+        OrbitPropagator propagator = OrbitPropagator.of(catalog.satellites(), start);
+        int objects = propagator.size();
+        int steps = (int) Math.ceil(seconds / stepSeconds) + 1;
+        long stepBytes = 3L * Float.BYTES * Math.max(objects, 1);
+        int stepsPerChunk = (int) Math.max(1, CHUNK_BYTES / stepBytes);
+        int chunkCount = (steps + stepsPerChunk - 1) / stepsPerChunk;
+
+        MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+        try {
+            Files.createDirectories(directory);
+            checkFreeSpace(steps * stepBytes);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (int c = 0; c < chunkCount; c++) {
+                    int chunkSteps = Math.min(stepsPerChunk, steps - c * stepsPerChunk);
+                    chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, c * stepsPerChunk * stepBytes, chunkSteps * stepBytes);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create ephemeris file " + file, e);
+        }
+
+        //steps are independent, propagate them in parallel straight into the mapping
+        try {
+            engine.getPool().submit(() -> IntStream.range(0, steps).parallel().forEach(step -> {
+                double[] x = new double[objects];
+                double[] y = new double[objects];
+                double[] z = new double[objects];
+                propagator.positionsAt(step * stepSeconds, x, y, z);
+                MappedByteBuffer chunk = chunks[step / stepsPerChunk];
+                int base = (step % stepsPerChunk) * 3 * objects;
+                for (int k = 0; k < objects; k++) {
+                    chunk.putFloat((base + k) * Float.BYTES, (float) x[k]);
+                    chunk.putFloat((base + objects + k) * Float.BYTES, (float) y[k]);
+                    chunk.putFloat((base + 2 * objects + k) * Float.BYTES, (float) z[k]);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ephemeris build interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ephemeris build failed", e.getCause());
+        }
+
+        System.out.println("Ephemeris built: " + objects + " objects x " + steps + " steps ("
+                + (steps * stepBytes >> 20) + " MB) in " + (System.nanoTime() - began) / 1_000_000 + " ms");
+        return new Ephemeris(propagator, catalog.version(), start, stepSeconds, steps, stepsPerChunk, chunks, file);
+    }
+
+    //a sparse mapping that runs out of disk dies with a SIGBUS on first write, so fail up front instead
+    private void checkFreeSpace(long bytes) throws IOException {
+        long usable = Files.getFileStore(directory).getUsableSpace();
+        if (usable < bytes) {
+            throw new IllegalStateException("Ephemeris needs " + (bytes >> 20) + " MB but only " + (usable >> 20)
+                    + " MB is free in " + directory.toAbsolutePath() + ", free some space, point collision.ephemeris.path"
+                    + " at a larger disk or shorten collision.window.hours / raise collision.window.step-seconds");
+        }
+    }
+
+    //drops the store's reference to the old ephemeris, its file is deleted once its readers close it too
+    private void replace(Ephemeris built) {
+        Ephemeris old = current;
+        current = built;
+        if (old != null) {
+            old.close();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Could not delete old ephemeris " + file + ": " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        replace(null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.satellitesystem.collisiondetection.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+//keeps the stored predictions in step with the catalog: after every refresh (full fetch, delta, manual edits)
+//the changed satellites are re-screened through the coordinator, so this never races a full run
+@Component
+public class IncrementalScreeningRunner {
+
+    @Autowired
+    private ScreeningCoordinator coordinator;
+
+    @Autowired
+    private CatalogChangeTracker changeTracker;
+
+    @Value("${screening.incremental.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(initialDelayString = "${screening.incremental.interval-ms:60000}",
+            fixedDelayString = "${screening.incremental.interval-ms:60000}")
+    public void screenChanges() {
+        if (!enabled || !changeTracker.hasPendingChanges()) {
+            return;
+        }
+        //submit, not trigger: nothing here waits on the run, so it must not count as a subscriber
+        ScreeningRun run = coordinator.submit(ScreeningMode.INCREMENTAL);
+        System.out.println("Catalog changed, incremental screening run " + run.getId() + " triggered");
+    }
+}
@@ -0,0 +1,6 @@
+package com.satellitesystem.collisiondetection.service;
+
+//a catalog snapshot together with the spatial indexes over its positions, built once per catalog version
+//grid: threshold sized cells for conjunction screening, tree: kd-tree for nearest and radius queries
+public record IndexedCatalog(CatalogSnapshot snapshot, SpatialGrid grid, KdTree tree) {
+}
@@ -0,0 +1,20 @@
+package com.satellitesystem.collisiondetection.service;
+
+//counts from an upsert ingest, unchanged objects are not written at all
+public record IngestResult(int inserted, int updated, int unchanged) {
+
+    public static final IngestResult EMPTY = new IngestResult(0, 0, 0);
+
+    public IngestResult plus(IngestResult other) {
+        return new IngestResult(inserted + other.inserted, updated + other.updated, unchanged + other.unchanged);
+    }
+
+    public int total() {
+        return inserted + updated + unchanged;
+    }
+
+    @Override
+    public String toString() {
+        return inserted + " inserted, " + updated + " updated, " + unchanged + " unchanged";
+    }
+}
@@ -0,0 +1,284 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+//static 3D kd-tree over the cartesian positions of a catalog snapshot, for k nearest and radius queries
+//the tree is implicit: every range [lo, hi) has its splitting node at the middle slot, the left half below it
+//and the right half above it on that node's axis, so it needs no node objects and is built in O(n log n)
+//coordinates are copied into tree order so a query walks mostly contiguous memory
+//immutable once built, any number of threads can query it
+public class KdTree {
+
+    private final int[] index;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final byte[] axis;
+
+    private KdTree(int size) {
+        index = new int[size];
+        x = new double[size];
+        y = new double[size];
+        z = new double[size];
+        axis = new byte[size];
+    }
+
+    public static KdTree of(SatellitePositions positions) {
+        KdTree tree = new KdTree(positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+            tree.index[i] = i;
+            tree.x[i] = positions.x(i);
+            tree.y[i] = positions.y(i);
+            tree.z[i] = positions.z(i);
+        }
+        tree.build(0, positions.size());
+        return tree;
+    }
+
+    public int size() {
+        return index.length;
+    }
+
+    //indexes of the k positions closest to (x, y, z), nearest first, ties by lower index
+    //positions the filter rejects (e.g. the query object itself) are skipped
+    public int[] nearest(double qx, double qy, double qz, int k, IntPredicate skip) {
+        if (k <= 0) {
+            return new int[0];
+        }
+        Candidates candidates = new Candidates(Math.min(k, size()));
+        nearest(0, size(), qx, qy, qz, skip, candidates);
+        return candidates.sorted();
+    }
+
+    //every index within radius km of (x, y, z), in no particular order
+    public void forEachWithin(double qx, double qy, double qz, double radius, IntConsumer consumer) {
+        within(0, size(), qx, qy, qz, radius * radius, consumer);
+    }
+
+    private void build(int lo, int hi) {
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            int split = widestAxis(lo, hi);
+            select(lo, hi - 1, mid, split);
+            axis[mid] = (byte) split;
+            //recurse into the smaller half so the stack stays O(log n)
+            if (mid - lo < hi - mid - 1) {
+                build(lo, mid);
+                lo = mid + 1;
+            } else {
+                build(mid + 1, hi);
+                hi = mid;
+            }
+        }
+    }
+
+    //axis with the largest spread in [lo, hi), splits stay balanced for flat or clustered shells
+    private int widestAxis(int lo, int hi) {
+        int best = 0;
+        double bestSpread = -1;
+        for (int a = 0; a < 3; a++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                double c = coordinate(a, i);
+                min = Math.min(min, c);
+                max = Math.max(max, c);
+            }
+            if (max - min > bestSpread) {
+                bestSpread = max - min;
+                best = a;
+            }
+        }
+        return best;
+    }
+
+    //moves the k-th smallest coordinate of [l, r] on the axis into slot k, smaller ones before it and larger after
+    private void select(int l, int r, int k, int a) {
+        while (l < r) {
+            double pivot = coordinate(a, k);
+            int i = l;
+            int j = r;
+            do {
+                while (coordinate(a, i) < pivot) {
+                    i++;
+                }
+                while (pivot < coordinate(a, j)) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            } while (i <= j);
+            if (j < k) {
+                l = i;
+            }
+            if (k < i) {
+                r = j;
+            }
+        }
+    }
+
+    private void nearest(int lo, int hi, double qx, double qy, double qz, IntPredicate skip, Candidates candidates) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (!skip.test(index[mid])) {
+            candidates.offer(distanceSquared(mid, qx, qy, qz), index[mid]);
+        }
+        if (hi - lo == 1) {
+            return;
+        }
+        double diff = query(axis[mid], qx, qy, qz) - coordinate(axis[mid], mid);
+        if (diff < 0) {
+            nearest(lo, mid, qx, qy, qz, skip, candidates);
+            if (candidates.reaches(diff * diff)) {
+                nearest(mid + 1, hi, qx, qy, qz, skip, candidates);
+            }
+        } else {
+            nearest(mid + 1, hi, qx, qy, qz, skip, candidates);
+            if (candidates.reaches(diff * diff)) {
+                nearest(lo, mid, qx, qy, qz, skip, candidates);
+            }
+        }
+    }
+
+    private void within(int lo, int hi, double qx, double qy, double qz, double radiusSquared, IntConsumer consumer) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (distanceSquared(mid, qx, qy, qz) <= radiusSquared) {
+            consumer.accept(index[mid]);
+        }
+        if (hi - lo == 1) {
+            return;
+        }
+        double diff = query(axis[mid], qx, qy, qz) - coordinate(axis[mid], mid);
+        if (diff < 0 || diff * diff <= radiusSquared) {
+            within(lo, mid, qx, qy, qz, radiusSquared, consumer);
+        }
+        if (diff >= 0 || diff * diff <= radiusSquared) {
+            within(mid + 1, hi, qx, qy, qz, radiusSquared, consumer);
+        }
+    }
+
+    private double distanceSquared(int slot, double qx, double qy, double qz) {
+        double dx = x[slot] - qx;
+        double dy = y[slot] - qy;
+        double dz = z[slot] - qz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private double coordinate(int a, int slot) {
+        return a == 0 ? x[slot] : a == 1 ? y[slot] : z[slot];
+    }
+
+    private static double query(int a, double qx, double qy, double qz) {
+        return a == 0 ? qx : a == 1 ? qy : qz;
+    }
+
+    private void swap(int i, int j) {
+        int index = this.index[i];
+        this.index[i] = this.index[j];
+        this.index[j] = index;
+        double t = x[i];
+        x[i] = x[j];
+        x[j] = t;
+        t = y[i];
+        y[i] = y[j];
+        y[j] = t;
+        t = z[i];
+        z[i] = z[j];
+        z[j] = t;
+    }
+
+    //bounded max-heap of the best k found so far, worst on top, ordered by (distance, index)
+    private static final class Candidates {
+        private final double[] distances;
+        private final int[] indexes;
+        private int size;
+
+        Candidates(int capacity) {
+            distances = new double[capacity];
+            indexes = new int[capacity];
+        }
+
+        //whether something at this squared distance could still get in
+        boolean reaches(double distanceSquared) {
+            return size < distances.length || distanceSquared <= distances[0];
+        }
+
+        void offer(double distance, int index) {
+            if (distances.length == 0) {
+                return;
+            }
+            if (size < distances.length) {
+                distances[size] = distance;
+                indexes[size] = index;
+                siftUp(size++);
+            } else if (worse(distances[0], indexes[0], distance, index)) {
+                distances[0] = distance;
+                indexes[0] = index;
+                siftDown(0);
+            }
+        }
+
+        int[] sorted() {
+            int[] result = new int[size];
+            while (size > 0) {
+                result[size - 1] = indexes[0];
+                size--;
+                distances[0] = distances[size];
+                indexes[0] = indexes[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private static boolean worse(double d1, int i1, double d2, int i2) {
+            return d1 > d2 || (d1 == d2 && i1 > i2);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!worse(distances[i], indexes[i], distances[parent], indexes[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                int worst = i;
+                if (left < size && worse(distances[left], indexes[left], distances[worst], indexes[worst])) {
+                    worst = left;
+                }
+                if (left + 1 < size && worse(distances[left + 1], indexes[left + 1], distances[worst], indexes[worst])) {
+                    worst = left + 1;
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int i, int j) {
+            double d = distances[i];
+            distances[i] = distances[j];
+            distances[j] = d;
+            int t = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = t;
+        }
+    }
+}
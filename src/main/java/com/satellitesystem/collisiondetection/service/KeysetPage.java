@@ -0,0 +1,14 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+//one page of a list endpoint, ordered by id; nextAfter is the cursor for the following page
+//(pass it back as ?after=), null once the last page was returned
+public record KeysetPage<T>(List<T> items, Long nextAfter) {
+
+    static <T> KeysetPage<T> of(List<T> items, int limit, Function<T, Long> id) {
+        Long next = items.size() == limit && !items.isEmpty() ? id.apply(items.get(items.size() - 1)) : null;
+        return new KeysetPage<>(items, next);
+    }
+}
@@ -0,0 +1,28 @@
+package com.satellitesystem.collisiondetection.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+//page size rules shared by the list endpoints: requests without a limit get the default,
+//larger ones are capped so a single call can never pull a whole table
+@Component
+public class KeysetPaging {
+
+    @Value("${api.page.default-size:100}")
+    private int defaultSize;
+
+    @Value("${api.page.max-size:1000}")
+    private int maxSize;
+
+    public int size(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return Math.min(defaultSize, maxSize);
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    //ids start at 1, no cursor means from the beginning
+    static long after(Long after) {
+        return after == null ? 0 : after;
+    }
+}
@@ -1,24 +1,13 @@
 package com.satellitesystem.collisiondetection.service;
 
-import com.satellitesystem.collisiondetection.model.Satellite;
 import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.CookieManager;
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
 
 @Service
 public class NasaApiService {
@@ -26,87 +15,32 @@ public class NasaApiService {
     @Autowired
     private SatelliteRepository satelliteRepository;
 
-    @Value("${nasa.api.username}")
-    private String username;
+    @Autowired
+    private SatelliteFeedReader feedReader;
 
-    @Value("${nasa.api.password}")
-    private String password;
+    @Autowired
+    private CatalogFetcher catalogFetcher;
 
-    @Value("${nasa.api.url}")
-    private String apiUrl;
+    @Autowired
+    private CatalogCache catalogCache;
 
-    //fetches sat data from Space-Track.org api, gets latest 100 sats for testing
+    //fetches the full catalog from Space-Track.org api, NORAD id ranges are pulled concurrently
     public String fetchAndStoreSatellites() {
         System.out.println("Starting Space-Track API fetch please wait...");
 
         try {
-            //create cookie manager
-            CookieManager cookieManager = new CookieManager();
-            cookieManager.setCookiePolicy(java.net.CookiePolicy.ACCEPT_ALL);
-            java.net.CookieHandler.setDefault(cookieManager);
-
-            //create HTTP client
-            HttpClient client = HttpClient.newBuilder()
-                    .cookieHandler(cookieManager)
-                    .connectTimeout(Duration.ofSeconds(30))
-                    .followRedirects(HttpClient.Redirect.ALWAYS)
-                    .build();
-
-            //step 1: login using /ajaxauth/login (like the Python client does)
-            String loginUrl = "https://www.space-track.org/ajaxauth/login";
-            System.out.println("Logging in to Space-Track...");
-
-            String loginBody = "identity=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
-                    + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
-
-            HttpRequest loginRequest = HttpRequest.newBuilder()
-                    .uri(URI.create(loginUrl))
-                    .header("Content-Type", "application/x-www-form-urlencoded")
-                    .POST(HttpRequest.BodyPublishers.ofString(loginBody))
-                    .build();
-
-            HttpResponse<String> loginResponse = client.send(loginRequest, HttpResponse.BodyHandlers.ofString());
-
-            System.out.println("Login response: " + loginResponse.statusCode());
-            System.out.println("Login body: " + loginResponse.body());
-            System.out.println("Cookies stored: " + cookieManager.getCookieStore().getCookies());
-
-            //check if login succeeded
-            if (loginResponse.body().contains("\"Login\":\"Failed\"")) {
-                return "Login failed - check your username and password";
-            }
-
-            System.out.println("Login successful!");
-
-            //step 2: fetch satellite data
-            //get 500 active satellites (updated in last 30 days)
-            String dataUrl = "https://www.space-track.org/basicspacedata/query/class/tle_latest/ORDINAL/1/EPOCH/%3Enow-30/LIMIT/500/format/json";
-            System.out.println("Fetching satellite data...");
-
-            HttpRequest dataRequest = HttpRequest.newBuilder()
-                    .uri(URI.create(dataUrl))
-                    .header("Accept", "application/json")
-                    .GET()
-                    .build();
-
-            HttpResponse<String> dataResponse = client.send(dataRequest, HttpResponse.BodyHandlers.ofString());
+            IngestResult ingest = catalogFetcher.fetchFullCatalog();
+            //rebuild the screening snapshot (and its file) now rather than on the next screen
+            catalogCache.refresh();
 
-            System.out.println("Data response: " + dataResponse.statusCode());
-
-            if (dataResponse.statusCode() != 200) {
-                return "Data fetch failed with status: " + dataResponse.statusCode()
-                        + " - Response: " + dataResponse.body();
-            }
-
-            System.out.println("Data received! Parsing...");
-
-            int count = parseSatelliteData(dataResponse.body());
-
-            String result = "Successfully fetched " + count + " satellites from Space-Track!";
+            String result = "Successfully fetched " + ingest.total() + " satellites from Space-Track! (" + ingest + ")";
             System.out.println(result);
             return result;
 
         } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             String error = "Error fetching Space-Track data: " + e.getMessage();
             System.err.println(error);
             e.printStackTrace();
@@ -114,44 +48,40 @@ public class NasaApiService {
         }
     }
 
-    //parses JSON from NASA & converts to sat objects
-    private int parseSatelliteData(String jsonData) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode rootNode = mapper.readTree(jsonData);
-
-            List<Satellite> satellites = new ArrayList<>();
-
-            //loop through each sat in json array
-            for (JsonNode node : rootNode) {
-                Satellite satellite = new Satellite();
+    //delta refresh, only element sets newer than the catalog's EPOCH high-water mark are requested and merged
+    public String fetchDeltaAndStoreSatellites() {
+        System.out.println("Starting Space-Track delta fetch...");
 
-                //extract data from json
-                satellite.setName(node.get("OBJECT_NAME").asText());
-                satellite.setNoradId(node.get("NORAD_CAT_ID").asText());
-
-                //orbital elements
-                satellite.setLatitude(node.get("INCLINATION").asDouble());
-                satellite.setLongitude(node.get("RA_OF_ASC_NODE").asDouble());
-                satellite.setAltitude(node.get("MEAN_MOTION").asDouble() * 100);
+        try {
+            IngestResult ingest = catalogFetcher.fetchDelta();
+            //rebuild the screening snapshot (and its file) now rather than on the next screen
+            catalogCache.refresh();
 
-                satellites.add(satellite);
+            String result = "Delta refresh merged " + ingest.total() + " element sets from Space-Track (" + ingest + ")";
+            System.out.println(result);
+            return result;
 
-                //print first sat as example
-                if (satellites.size() == 1) {
-                    System.out.println("Example satellite: " + satellite.getName());
-                }
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
             }
+            String error = "Error fetching Space-Track delta: " + e.getMessage();
+            System.err.println(error);
+            e.printStackTrace();
+            return error;
+        }
+    }
 
-            //save all to db at once
-            satelliteRepository.saveAll(satellites);
-            System.out.println("Saved " + satellites.size() + " satellites to database");
-
-            return satellites.size();
+    //parses JSON from NASA & converts to sat objects, streamed and upserted in batches by NORAD id
+    private IngestResult parseSatelliteData(InputStream jsonData) {
+        try {
+            IngestResult result = feedReader.ingest(jsonData);
+            System.out.println("Ingested " + result.total() + " satellites: " + result);
+            return result;
         } catch (Exception e) {
             System.err.println("Error parsing satellite data: " + e.getMessage());
             e.printStackTrace();
-            return 0;
+            return IngestResult.EMPTY;
         }
     }
 
@@ -185,8 +115,10 @@ public class NasaApiService {
         ]
         """;
 
-            int count = parseSatelliteData(backupData);
-            return "Loaded " + count + " satellites from backup dataset (demo mode)";
+            IngestResult ingest = parseSatelliteData(new ByteArrayInputStream(backupData.getBytes(StandardCharsets.UTF_8)));
+            //rebuild the screening snapshot (and its file) now rather than on the next screen
+            catalogCache.refresh();
+            return "Loaded " + ingest.total() + " satellites from backup dataset (demo mode, " + ingest + ")";
 
         } catch (Exception e) {
             System.err.println("Backup data loading failed: " + e.getMessage());
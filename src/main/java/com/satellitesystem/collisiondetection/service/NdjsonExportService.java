@@ -0,0 +1,82 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satellitesystem.collisiondetection.repository.AlertRepository;
+import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+//full table exports as newline-delimited JSON, one summary per line
+//rows come off a database cursor (fetch size 500) inside a read-only transaction and are written straight to the
+//response, so an export never holds more than a fetch of rows; writes block while the client is slow, which
+//in turn stops the cursor from being advanced (backpressure without buffering)
+@Service
+public class NdjsonExportService {
+
+    //rows between explicit flushes, the first row is flushed on its own so the client sees data at once
+    private static final int FLUSH_EVERY = 1000;
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private CollisionPredictionRepository predictionRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate readOnly;
+
+    public NdjsonExportService(PlatformTransactionManager transactionManager) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public long exportSatellites(OutputStream out) {
+        return export(satelliteRepository::streamSummaries, out);
+    }
+
+    public long exportPredictions(OutputStream out) {
+        return export(predictionRepository::streamSummaries, out);
+    }
+
+    public long exportAlerts(OutputStream out) {
+        return export(alertRepository::streamSummaries, out);
+    }
+
+    //returns the number of rows written
+    private <T> long export(Supplier<Stream<T>> query, OutputStream out) {
+        Long written = readOnly.execute(status -> {
+            long rows = 0;
+            try (Stream<T> stream = query.get()) {
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                    if (++rows == 1 || rows % FLUSH_EVERY == 0) {
+                        out.flush();
+                    }
+                }
+                out.flush();
+            } catch (IOException e) {
+                //client went away, the cursor is closed with the stream
+                throw new UncheckedIOException(e);
+            }
+            return rows;
+        });
+        return written == null ? 0 : written;
+    }
+}
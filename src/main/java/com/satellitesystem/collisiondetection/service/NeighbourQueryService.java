@@ -0,0 +1,78 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+//"the k closest objects to X" and "everything within R km of X" at the current positions, for dashboards
+//and triage; answered from the kd-tree of the CatalogIndex, queries keep using the tree they started with
+//while a newer catalog is indexed
+@Service
+public class NeighbourQueryService {
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Value("${satellites.neighbours.max-k:1000}")
+    private int maxK;
+
+    @Value("${satellites.neighbours.max-radius:2000}")
+    private double maxRadius;
+
+    //null if the satellite is not in the catalog
+    public ConjunctionQueryResult nearest(long satelliteId, int k) {
+        if (k <= 0 || k > maxK) {
+            throw new IllegalArgumentException("k must be in [1, " + maxK + "]: " + k);
+        }
+        IndexedCatalog indexed = catalogIndex.current();
+        int self = indexed.snapshot().indexOf(satelliteId);
+        if (self < 0) {
+            return null;
+        }
+        SatellitePositions positions = indexed.snapshot().positions();
+        int[] nearest = indexed.tree().nearest(positions.x(self), positions.y(self), positions.z(self), k, j -> j == self);
+
+        List<CloseApproach> approaches = new ArrayList<>(nearest.length);
+        for (int j : nearest) {
+            approaches.add(approach(indexed.snapshot(), j, positions.distance(self, j)));
+        }
+        return result(indexed.snapshot(), self, approaches);
+    }
+
+    //null if the satellite is not in the catalog
+    public ConjunctionQueryResult within(long satelliteId, double radius) {
+        if (radius <= 0 || radius > maxRadius) {
+            throw new IllegalArgumentException("Radius must be in (0, " + maxRadius + "] km: " + radius);
+        }
+        IndexedCatalog indexed = catalogIndex.current();
+        int self = indexed.snapshot().indexOf(satelliteId);
+        if (self < 0) {
+            return null;
+        }
+        SatellitePositions positions = indexed.snapshot().positions();
+
+        List<CloseApproach> approaches = new ArrayList<>();
+        indexed.tree().forEachWithin(positions.x(self), positions.y(self), positions.z(self), radius, j -> {
+            if (j != self) {
+                approaches.add(approach(indexed.snapshot(), j, positions.distance(self, j)));
+            }
+        });
+        approaches.sort(Comparator.comparingDouble(CloseApproach::distance));
+        return result(indexed.snapshot(), self, approaches);
+    }
+
+    private static CloseApproach approach(CatalogSnapshot snapshot, int index, double distance) {
+        Satellite other = snapshot.satellites().get(index);
+        return new CloseApproach(other.getId(), other.getNoradId(), other.getName(), distance,
+                CollisionDetectionService.riskLevel(distance));
+    }
+
+    private static ConjunctionQueryResult result(CatalogSnapshot snapshot, int self, List<CloseApproach> approaches) {
+        return new ConjunctionQueryResult(snapshot.satellites().get(self).getName(), snapshot.version(), approaches);
+    }
+}
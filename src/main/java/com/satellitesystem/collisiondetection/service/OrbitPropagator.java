@@ -0,0 +1,193 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+//batched propagator over the stored mean elements: two-body kepler motion plus the J2 secular drift
+//of the node and perigee, so planes precess realistically over a multi-day window
+//elements sit in parallel arrays and a whole batch is propagated per time step in one tight loop
+//this is not SGP4 (no drag, no periodic terms), position error grows to a few km per day, which is fine
+//for finding candidate conjunctions but not for operational miss distances
+//time t is seconds since the window start, positions and velocities are inertial (km, km/s)
+public class OrbitPropagator {
+
+    //earth's gravitational parameter, km^3/s^2
+    static final double MU_EARTH = 398600.4418;
+    private static final double J2 = 1.08262668e-3;
+    //equatorial radius J2 is referenced to (not the mean radius used for altitudes)
+    private static final double J2_RADIUS = 6378.137;
+
+    //catalog index of every propagated satellite (satellites without a full element set are skipped)
+    private final int[] catalogIndex;
+    private final double[] a;
+    private final double[] e;
+    private final double[] inclination;
+    private final double[] raan;
+    private final double[] argPerigee;
+    private final double[] meanAnomaly;
+    private final double[] meanMotion;
+    private final double[] raanRate;
+    private final double[] argPerigeeRate;
+    //seconds from each element set's epoch to the window start
+    private final double[] epochOffset;
+
+    private OrbitPropagator(int size) {
+        catalogIndex = new int[size];
+        a = new double[size];
+        e = new double[size];
+        inclination = new double[size];
+        raan = new double[size];
+        argPerigee = new double[size];
+        meanAnomaly = new double[size];
+        meanMotion = new double[size];
+        raanRate = new double[size];
+        argPerigeeRate = new double[size];
+        epochOffset = new double[size];
+    }
+
+    public static OrbitPropagator of(List<Satellite> satellites, LocalDateTime windowStart) {
+        List<Integer> usable = new ArrayList<>();
+        for (int i = 0; i < satellites.size(); i++) {
+            if (hasElements(satellites.get(i))) {
+                usable.add(i);
+            }
+        }
+
+        OrbitPropagator propagator = new OrbitPropagator(usable.size());
+        for (int k = 0; k < usable.size(); k++) {
+            Satellite sat = satellites.get(usable.get(k));
+            double n = sat.getMeanMotion() * 2 * Math.PI / 86400.0;
+            double semiMajorAxis = semiMajorAxis(sat.getMeanMotion());
+            double ecc = sat.getEccentricity();
+            double inc = Math.toRadians(sat.getInclination());
+            double p = semiMajorAxis * (1 - ecc * ecc);
+            double j2Factor = 1.5 * n * J2 * (J2_RADIUS / p) * (J2_RADIUS / p);
+
+            propagator.catalogIndex[k] = usable.get(k);
+            propagator.a[k] = semiMajorAxis;
+            propagator.e[k] = ecc;
+            propagator.inclination[k] = inc;
+            propagator.raan[k] = Math.toRadians(sat.getRaOfAscNode());
+            propagator.argPerigee[k] = Math.toRadians(sat.getArgOfPericenter());
+            propagator.meanAnomaly[k] = Math.toRadians(sat.getMeanAnomaly());
+            propagator.meanMotion[k] = n;
+            propagator.raanRate[k] = -j2Factor * Math.cos(inc);
+            propagator.argPerigeeRate[k] = 0.5 * j2Factor * (5 * Math.cos(inc) * Math.cos(inc) - 1);
+            propagator.epochOffset[k] = sat.getEpoch() == null ? 0.0
+                    : Duration.between(sat.getEpoch(), windowStart).toNanos() / 1e9;
+        }
+        return propagator;
+    }
+
+    private static boolean hasElements(Satellite sat) {
+        return sat.getMeanMotion() != null && sat.getMeanMotion() > 0
+                && sat.getEccentricity() != null && sat.getEccentricity() >= 0 && sat.getEccentricity() < 1
+                && sat.getInclination() != null && sat.getRaOfAscNode() != null
+                && sat.getArgOfPericenter() != null && sat.getMeanAnomaly() != null;
+    }
+
+    //kepler's third law, mean motion in rev/day to semi-major axis in km
+    static double semiMajorAxis(double meanMotion) {
+        double radiansPerSecond = meanMotion * 2 * Math.PI / 86400.0;
+        return Math.cbrt(MU_EARTH / (radiansPerSecond * radiansPerSecond));
+    }
+
+    public int size() {
+        return catalogIndex.length;
+    }
+
+    public int catalogIndex(int k) {
+        return catalogIndex[k];
+    }
+
+    //closest and furthest the orbit gets from earth's centre (km), J2 secular drift leaves a and e alone
+    public double perigeeRadius(int k) {
+        return a[k] * (1 - e[k]);
+    }
+
+    public double apogeeRadius(int k) {
+        return a[k] * (1 + e[k]);
+    }
+
+    //fastest any propagated object moves (perigee speed), bounds how far a pair can close in one step
+    public double maxSpeed() {
+        double max = 0;
+        for (int k = 0; k < size(); k++) {
+            max = Math.max(max, meanMotion[k] * a[k] * Math.sqrt((1 + e[k]) / (1 - e[k])));
+        }
+        return max;
+    }
+
+    //positions of every object at time t, written into x/y/z by propagator index
+    public void positionsAt(double t, double[] x, double[] y, double[] z) {
+        double[] state = new double[3];
+        for (int k = 0; k < size(); k++) {
+            propagate(k, t, state, false);
+            x[k] = state[0];
+            y[k] = state[1];
+            z[k] = state[2];
+        }
+    }
+
+    //position and velocity of one object at time t, state = {x, y, z, vx, vy, vz}
+    public void stateAt(int k, double t, double[] state) {
+        propagate(k, t, state, true);
+    }
+
+    private void propagate(int k, double t, double[] state, boolean withVelocity) {
+        double dt = t + epochOffset[k];
+        double ecc = e[k];
+        double n = meanMotion[k];
+
+        //kepler's equation by newton iteration, E - e sinE = M
+        double m = Math.IEEEremainder(meanAnomaly[k] + n * dt, 2 * Math.PI);
+        double eccentricAnomaly = ecc < 0.8 ? m : Math.PI;
+        for (int iteration = 0; iteration < 20; iteration++) {
+            double delta = (eccentricAnomaly - ecc * Math.sin(eccentricAnomaly) - m) / (1 - ecc * Math.cos(eccentricAnomaly));
+            eccentricAnomaly -= delta;
+            if (Math.abs(delta) < 1e-12) {
+                break;
+            }
+        }
+        double cosE = Math.cos(eccentricAnomaly);
+        double sinE = Math.sin(eccentricAnomaly);
+        double root = Math.sqrt(1 - ecc * ecc);
+
+        //perifocal frame
+        double px = a[k] * (cosE - ecc);
+        double py = a[k] * root * sinE;
+
+        //rotate by argument of perigee, inclination and node (with their secular drift)
+        double node = raan[k] + raanRate[k] * dt;
+        double perigee = argPerigee[k] + argPerigeeRate[k] * dt;
+        double cosO = Math.cos(node);
+        double sinO = Math.sin(node);
+        double cosW = Math.cos(perigee);
+        double sinW = Math.sin(perigee);
+        double cosI = Math.cos(inclination[k]);
+        double sinI = Math.sin(inclination[k]);
+
+        double p1 = cosO * cosW - sinO * sinW * cosI;
+        double p2 = sinO * cosW + cosO * sinW * cosI;
+        double p3 = sinW * sinI;
+        double q1 = -cosO * sinW - sinO * cosW * cosI;
+        double q2 = -sinO * sinW + cosO * cosW * cosI;
+        double q3 = cosW * sinI;
+
+        state[0] = px * p1 + py * q1;
+        state[1] = px * p2 + py * q2;
+        state[2] = px * p3 + py * q3;
+        if (withVelocity) {
+            double factor = a[k] * n / (1 - ecc * cosE);
+            double vx = -factor * sinE;
+            double vy = factor * root * cosE;
+            state[3] = vx * p1 + vy * q1;
+            state[4] = vx * p2 + vy * q2;
+            state[5] = vx * p3 + vy * q3;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+
+import java.util.List;
+
+//a cheap orbital test run in front of the distance kernel, ruling pairs out before any distance math
+//implementations are spring beans, PrefilterStage runs every one it finds in order
+//a filter must be conservative: it may only reject pairs that can never come within the threshold
+public interface PairPrefilter {
+
+    //short name the removed pair counts are reported under
+    String name();
+
+    //builds the per-run state (sorted bands, plane normals...) for one screening pass
+    PairTest prepare(List<Satellite> satellites, SatellitePositions positions, double threshold);
+
+    interface PairTest {
+        boolean mayApproach(int first, int second);
+    }
+}
@@ -0,0 +1,282 @@
+package com.satellitesystem.collisiondetection.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+//runs the pair screen across a fork/join pool
+//work is split into ranges of rows (brute force), grid cells or sweep ranks, each leaf task keeps its own hit buffer
+//and buffers are merged and sorted at the end so the result order never depends on scheduling
+//the distance kernel (scalar or SIMD, see DistanceKernels) reads primitive positions only, index buffers are
+//per worker (brute force) or per leaf and only grow, so the steady allocation is a ScreeningHit per pair under the threshold
+//progress counters are updated per row/leaf and a cancelled run stops at the next check (CancellationException)
+@Component
+public class ParallelScreeningEngine {
+
+    //rows/cells handled by one leaf task before it stops splitting
+    private static final int LEAF_SIZE = 16;
+
+    private final ForkJoinPool pool;
+    private final DistanceKernel kernel;
+    //brute force hit indexes, one buffer per worker thread reused across leaves and runs, grown to the catalog size
+    private final ThreadLocal<int[]> rowBuffers = ThreadLocal.withInitial(() -> new int[0]);
+
+    //0 (default) uses every available core, kernel is AUTO, VECTOR or SCALAR (see DistanceKernels)
+    public ParallelScreeningEngine(@Value("${collision.screening.parallelism:0}") int parallelism,
+                                   @Value("${collision.screening.kernel:AUTO}") String kernel) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads);
+        this.kernel = DistanceKernels.create(kernel);
+        System.out.println("Screening engine using " + threads + " worker threads, " + this.kernel.name() + " distance kernel");
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    //shared with the time-window screen so both use the same worker threads
+    ForkJoinPool getPool() {
+        return pool;
+    }
+
+    //reference path: every unique pair (i < j) of n satellites
+    public ScreeningResult screenAllPairs(SatellitePositions positions, double threshold) {
+        return screenAllPairs(positions, threshold, new ScreeningProgress());
+    }
+
+    public ScreeningResult screenAllPairs(SatellitePositions positions, double threshold, ScreeningProgress progress) {
+        int n = positions.size();
+        double thresholdSquared = threshold * threshold;
+        LongAdder pairsChecked = new LongAdder();
+        List<ScreeningHit> hits = pool.invoke(new RangeTask(0, n, (from, to, buffer) -> {
+            int[] within = rowBuffer(n);
+            for (int i = from; i < to; i++) {
+                progress.throwIfCancelled();
+                //row i against the contiguous block i+1..n-1
+                int found = kernel.withinRange(positions, i, i + 1, n, thresholdSquared, within);
+                for (int h = 0; h < found; h++) {
+                    buffer.add(new ScreeningHit(i, within[h], positions.distance(i, within[h])));
+                }
+                pairsChecked.add(n - i - 1);
+                progress.addPairsChecked(n - i - 1);
+                progress.addHits(found);
+            }
+        }));
+        return merge(hits, pairsChecked);
+    }
+
+    private int[] rowBuffer(int size) {
+        int[] buffer = rowBuffers.get();
+        if (buffer.length < size) {
+            buffer = new int[size];
+            rowBuffers.set(buffer);
+        }
+        return buffer;
+    }
+
+    //grid path: only pairs in the same or neighbouring cells
+    public ScreeningResult screenGrid(SpatialGrid grid, SatellitePositions positions, double threshold) {
+        return screenGrid(grid, positions, threshold, new ScreeningProgress());
+    }
+
+    public ScreeningResult screenGrid(SpatialGrid grid, SatellitePositions positions, double threshold, ScreeningProgress progress) {
+        return screenGrid(grid, positions, threshold, Prefilters.NONE, progress);
+    }
+
+    //grid candidates go through the prefilters before the distance check
+    public ScreeningResult screenGrid(SpatialGrid grid, SatellitePositions positions, double threshold,
+                                      Prefilters prefilters, ScreeningProgress progress) {
+        double thresholdSquared = threshold * threshold;
+        LongAdder pairsChecked = new LongAdder();
+        List<ScreeningHit> hits = pool.invoke(new RangeTask(0, grid.occupiedCells(), (from, to, buffer) -> {
+            progress.throwIfCancelled();
+            BlockKernel block = new BlockKernel(kernel, positions, thresholdSquared, prefilters, buffer);
+            grid.forEachCandidateBlock(from, to, block);
+            block.report(pairsChecked, progress);
+        }));
+        return merge(hits, pairsChecked, prefilters.removed());
+    }
+
+    //sweep-and-prune path: satellites sorted by altitude shell, only pairs whose shells overlap within the
+    //threshold are generated at all; the pairs never generated are reported under "shell-sweep"
+    public ScreeningResult screenSweep(ShellBands bands, SatellitePositions positions, double threshold,
+                                       Prefilters prefilters, ScreeningProgress progress) {
+        double thresholdSquared = threshold * threshold;
+        LongAdder pairsChecked = new LongAdder();
+        LongAdder swept = new LongAdder();
+        List<ScreeningHit> hits = pool.invoke(new RangeTask(0, bands.size(), (from, to, buffer) -> {
+            progress.throwIfCancelled();
+            PairKernel pairs = new PairKernel(positions, thresholdSquared, prefilters, buffer);
+            bands.forEachOverlappingPair(from, to, threshold, pairs);
+            swept.add(pairs.candidates);
+            pairs.report(pairsChecked, progress);
+        }));
+
+        long n = bands.size();
+        Map<String, Long> pruned = new LinkedHashMap<>();
+        pruned.put("shell-sweep", n * (n - 1) / 2 - swept.sum());
+        pruned.putAll(prefilters.removed());
+        return merge(hits, pairsChecked, pruned);
+    }
+
+    private static ScreeningResult merge(List<ScreeningHit> hits, LongAdder pairsChecked) {
+        return merge(hits, pairsChecked, Map.of());
+    }
+
+    private static ScreeningResult merge(List<ScreeningHit> hits, LongAdder pairsChecked, Map<String, Long> pruned) {
+        Collections.sort(hits);
+        return new ScreeningResult(hits, pairsChecked.sum(), pruned);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    //prefilter + scalar distance check for single candidate pairs (sweep), counts are kept locally and reported once
+    private static class PairKernel implements SpatialGrid.PairConsumer {
+        private final SatellitePositions positions;
+        private final double thresholdSquared;
+        private final Prefilters prefilters;
+        private final List<ScreeningHit> buffer;
+        private final long[] removed;
+        private long candidates;
+        private long checked;
+
+        PairKernel(SatellitePositions positions, double thresholdSquared, Prefilters prefilters, List<ScreeningHit> buffer) {
+            this.positions = positions;
+            this.thresholdSquared = thresholdSquared;
+            this.prefilters = prefilters;
+            this.buffer = buffer;
+            this.removed = new long[prefilters.size()];
+        }
+
+        @Override
+        public void accept(int i, int j) {
+            candidates++;
+            int rejectedBy = prefilters.rejectedBy(i, j);
+            if (rejectedBy >= 0) {
+                removed[rejectedBy]++;
+                return;
+            }
+            checked++;
+            if (positions.distanceSquared(i, j) < thresholdSquared) {
+                buffer.add(new ScreeningHit(i, j, positions.distance(i, j)));
+            }
+        }
+
+        void report(LongAdder pairsChecked, ScreeningProgress progress) {
+            prefilters.addRemoved(removed);
+            pairsChecked.add(checked);
+            progress.addPairsChecked(checked);
+            progress.addHits(buffer.size());
+        }
+    }
+
+    //grid blocks: prefilter survivors are compacted and handed to the distance kernel as one block
+    private static class BlockKernel implements SpatialGrid.BlockConsumer {
+        private final DistanceKernel kernel;
+        private final SatellitePositions positions;
+        private final double thresholdSquared;
+        private final Prefilters prefilters;
+        private final List<ScreeningHit> buffer;
+        private final long[] removed;
+        private int[] survivors = new int[64];
+        private int[] within = new int[64];
+        private long checked;
+
+        BlockKernel(DistanceKernel kernel, SatellitePositions positions, double thresholdSquared, Prefilters prefilters,
+                    List<ScreeningHit> buffer) {
+            this.kernel = kernel;
+            this.positions = positions;
+            this.thresholdSquared = thresholdSquared;
+            this.prefilters = prefilters;
+            this.buffer = buffer;
+            this.removed = new long[prefilters.size()];
+        }
+
+        @Override
+        public void accept(int first, int[] candidates, int from, int to) {
+            int[] block = candidates;
+            int blockFrom = from;
+            int blockTo = to;
+            if (prefilters.size() > 0) {
+                if (survivors.length < to - from) {
+                    survivors = new int[Math.max(survivors.length * 2, to - from)];
+                }
+                int kept = 0;
+                for (int c = from; c < to; c++) {
+                    int rejectedBy = prefilters.rejectedBy(Math.min(first, candidates[c]), Math.max(first, candidates[c]));
+                    if (rejectedBy >= 0) {
+                        removed[rejectedBy]++;
+                    } else {
+                        survivors[kept++] = candidates[c];
+                    }
+                }
+                block = survivors;
+                blockFrom = 0;
+                blockTo = kept;
+            }
+            if (within.length < blockTo - blockFrom) {
+                within = new int[Math.max(within.length * 2, blockTo - blockFrom)];
+            }
+
+            checked += blockTo - blockFrom;
+            int found = kernel.withinIndexes(positions, first, block, blockFrom, blockTo, thresholdSquared, within);
+            for (int h = 0; h < found; h++) {
+                int second = within[h];
+                buffer.add(new ScreeningHit(Math.min(first, second), Math.max(first, second), positions.distance(first, second)));
+            }
+        }
+
+        void report(LongAdder pairsChecked, ScreeningProgress progress) {
+            prefilters.addRemoved(removed);
+            pairsChecked.add(checked);
+            progress.addPairsChecked(checked);
+            progress.addHits(buffer.size());
+        }
+    }
+
+    private interface RangeWork {
+        void screen(int from, int to, List<ScreeningHit> buffer);
+    }
+
+    //splits [from, to) in half until it is small enough, then screens it into a private buffer
+    private static class RangeTask extends RecursiveTask<List<ScreeningHit>> {
+        private final int from;
+        private final int to;
+        private final RangeWork work;
+
+        RangeTask(int from, int to, RangeWork work) {
+            this.from = from;
+            this.to = to;
+            this.work = work;
+        }
+
+        @Override
+        protected List<ScreeningHit> compute() {
+            if (to - from <= LEAF_SIZE) {
+                List<ScreeningHit> buffer = new ArrayList<>();
+                work.screen(from, to, buffer);
+                return buffer;
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask left = new RangeTask(from, mid, work);
+            RangeTask right = new RangeTask(mid, to, work);
+            left.fork();
+            List<ScreeningHit> rightHits = right.compute();
+            List<ScreeningHit> leftHits = left.join();
+            leftHits.addAll(rightHits);
+            return leftHits;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.time.LocalDateTime;
+
+//list view of a collision prediction, satellites reduced to id and name
+public record PredictionSummary(Long id, Long satellite1Id, String satellite1Name, Long satellite2Id,
+                                String satellite2Name, LocalDateTime predictedTime, double minimumDistance,
+                                Double collisionProbability, String riskLevel, String status) {
+}
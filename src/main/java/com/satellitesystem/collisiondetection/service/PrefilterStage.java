@@ -0,0 +1,33 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//collects every PairPrefilter bean and prepares them for one screening pass
+@Component
+public class PrefilterStage {
+
+    @Autowired(required = false)
+    private List<PairPrefilter> filters = List.of();
+
+    //lets the distance kernel see every candidate, e.g. to measure what the filters save
+    @Value("${collision.screening.prefilters.enabled:true}")
+    private boolean enabled;
+
+    public Prefilters prepare(List<Satellite> satellites, SatellitePositions positions, double threshold) {
+        if (!enabled || filters.isEmpty()) {
+            return Prefilters.NONE;
+        }
+        String[] names = new String[filters.size()];
+        PairPrefilter.PairTest[] tests = new PairPrefilter.PairTest[filters.size()];
+        for (int f = 0; f < filters.size(); f++) {
+            names[f] = filters.get(f).name();
+            tests[f] = filters.get(f).prepare(satellites, positions, threshold);
+        }
+        return new Prefilters(names, tests);
+    }
+}
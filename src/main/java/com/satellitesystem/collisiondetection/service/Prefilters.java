@@ -0,0 +1,57 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+//the prefilters prepared for one screening pass, plus how many pairs each one removed
+//the first filter to reject a pair gets the credit, so the counts add up to the pairs removed in total
+//screening threads keep local counts per leaf and add them once, see ParallelScreeningEngine
+public class Prefilters {
+
+    public static final Prefilters NONE = new Prefilters(new String[0], new PairPrefilter.PairTest[0]);
+
+    private final String[] names;
+    private final PairPrefilter.PairTest[] tests;
+    private final LongAdder[] removed;
+
+    Prefilters(String[] names, PairPrefilter.PairTest[] tests) {
+        this.names = names;
+        this.tests = tests;
+        this.removed = new LongAdder[names.length];
+        for (int f = 0; f < names.length; f++) {
+            removed[f] = new LongAdder();
+        }
+    }
+
+    public int size() {
+        return tests.length;
+    }
+
+    //index of the first filter that rules the pair out, -1 if it has to be distance checked
+    public int rejectedBy(int first, int second) {
+        for (int f = 0; f < tests.length; f++) {
+            if (!tests[f].mayApproach(first, second)) {
+                return f;
+            }
+        }
+        return -1;
+    }
+
+    //adds one leaf's counts, indexed like the filters
+    public void addRemoved(long[] counts) {
+        for (int f = 0; f < counts.length; f++) {
+            if (counts[f] > 0) {
+                removed[f].add(counts[f]);
+            }
+        }
+    }
+
+    public Map<String, Long> removed() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int f = 0; f < names.length; f++) {
+            counts.put(names[f], removed[f].sum());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,33 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.util.concurrent.TimeUnit;
+
+//client side rate limiter, hands out evenly spaced request slots
+//each caller reserves the next free slot and sleeps until it comes round, so bursts from many
+//threads are smoothed to at most one request per interval
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextFreeSlot;
+
+    public RateLimiter(double requestsPerMinute) {
+        if (requestsPerMinute <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + requestsPerMinute);
+        }
+        this.intervalNanos = (long) (TimeUnit.MINUTES.toNanos(1) / requestsPerMinute);
+        this.nextFreeSlot = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFreeSlot);
+            nextFreeSlot = slot + intervalNanos;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satellitesystem.collisiondetection.model.Satellite;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+//streams a Space-Track JSON array (one object per element set) straight into the catalog
+//only one record and one batch are held at a time, so heap use stays flat however large the response is
+@Component
+public class SatelliteFeedReader {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Autowired
+    private SatelliteIngestService ingestService;
+
+    //records upserted per transaction
+    @Value("${nasa.ingest.batch-size:1000}")
+    private int batchSize;
+
+    public IngestResult ingest(InputStream json) throws IOException {
+        IngestResult total = IngestResult.EMPTY;
+        List<Satellite> batch = new ArrayList<>(batchSize);
+
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of satellites but got " + parser.currentToken());
+            }
+
+            //read one object at a time, never the whole array
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode node = mapper.readTree(parser);
+                batch.add(toSatellite(node));
+
+                //print first sat as example
+                if (total.total() == 0 && batch.size() == 1) {
+                    System.out.println("Example satellite: " + batch.get(0).getName());
+                }
+
+                if (batch.size() == batchSize) {
+                    total = total.plus(ingestService.upsert(batch));
+                    batch.clear();
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            total = total.plus(ingestService.upsert(batch));
+        }
+        return total;
+    }
+
+    //maps one Space-Track record to a satellite
+    Satellite toSatellite(JsonNode node) {
+        Satellite satellite = new Satellite();
+
+        //extract data from json
+        satellite.setName(node.get("OBJECT_NAME").asText());
+        satellite.setNoradId(node.get("NORAD_CAT_ID").asText());
+
+        //position used by the snapshot screen (approximation until orbits are propagated)
+        satellite.setLatitude(node.get("INCLINATION").asDouble());
+        satellite.setLongitude(node.get("RA_OF_ASC_NODE").asDouble());
+        satellite.setAltitude(node.get("MEAN_MOTION").asDouble() * 100);
+
+        //the real mean elements, kept as published
+        satellite.setInclination(optionalDouble(node, "INCLINATION"));
+        satellite.setRaOfAscNode(optionalDouble(node, "RA_OF_ASC_NODE"));
+        satellite.setEccentricity(optionalDouble(node, "ECCENTRICITY"));
+        satellite.setArgOfPericenter(optionalDouble(node, "ARG_OF_PERICENTER"));
+        satellite.setMeanAnomaly(optionalDouble(node, "MEAN_ANOMALY"));
+        satellite.setMeanMotion(optionalDouble(node, "MEAN_MOTION"));
+
+        //gp records carry PERIAPSIS/APOAPSIS (km altitude), older feeds only the elements to derive them from
+        satellite.setPerigee(optionalDouble(node, "PERIAPSIS"));
+        satellite.setApogee(optionalDouble(node, "APOAPSIS"));
+        if ((satellite.getPerigee() == null || satellite.getApogee() == null)
+                && satellite.getMeanMotion() != null && satellite.getMeanMotion() > 0) {
+            double a = OrbitPropagator.semiMajorAxis(satellite.getMeanMotion());
+            double e = satellite.getEccentricity() == null ? 0.0 : satellite.getEccentricity();
+            satellite.setPerigee(a * (1 - e) - SatellitePositions.EARTH_RADIUS);
+            satellite.setApogee(a * (1 + e) - SatellitePositions.EARTH_RADIUS);
+        }
+
+        //element set epoch, e.g. 2024-10-15T12:34:56.123456 (UTC)
+        JsonNode epoch = node.get("EPOCH");
+        if (epoch != null && !epoch.isNull()) {
+            satellite.setEpoch(LocalDateTime.parse(epoch.asText()));
+        }
+
+        return satellite;
+    }
+
+    private static Double optionalDouble(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() || value.asText().isEmpty() ? null : value.asDouble();
+    }
+}
@@ -0,0 +1,96 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+//upserts parsed satellites into the catalog keyed on NORAD id
+//new objects are inserted, existing ones are only touched when their elements changed
+//(an element set with an epoch no newer than the stored one never overwrites it),
+//so a refresh costs roughly the size of the delta instead of the whole catalog
+@Service
+public class SatelliteIngestService {
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Transactional
+    public IngestResult upsert(List<Satellite> incoming) {
+        //last record wins if the feed repeats an object
+        Map<String, Satellite> byNoradId = new LinkedHashMap<>();
+        for (Satellite satellite : incoming) {
+            byNoradId.put(satellite.getNoradId(), satellite);
+        }
+
+        Map<String, Satellite> existing = new HashMap<>();
+        for (Satellite satellite : satelliteRepository.findByNoradIdIn(byNoradId.keySet())) {
+            existing.put(satellite.getNoradId(), satellite);
+        }
+
+        List<Satellite> inserts = new ArrayList<>();
+        int updated = 0;
+        int unchanged = 0;
+        for (Satellite candidate : byNoradId.values()) {
+            Satellite current = existing.get(candidate.getNoradId());
+            if (current == null) {
+                inserts.add(candidate);
+            } else if (sameElements(current, candidate) || isOlder(candidate, current)) {
+                //same data, or an element set no newer than the one we hold
+                unchanged++;
+            } else {
+                //managed entity, dirty checking writes the update on commit
+                copyElements(candidate, current);
+                updated++;
+            }
+        }
+        satelliteRepository.saveAll(inserts);
+
+        return new IngestResult(inserts.size(), updated, unchanged);
+    }
+
+    private static boolean sameElements(Satellite a, Satellite b) {
+        return Objects.equals(a.getName(), b.getName())
+                && Double.compare(a.getLatitude(), b.getLatitude()) == 0
+                && Double.compare(a.getLongitude(), b.getLongitude()) == 0
+                && Double.compare(a.getAltitude(), b.getAltitude()) == 0
+                && Objects.equals(a.getEpoch(), b.getEpoch())
+                && Objects.equals(a.getInclination(), b.getInclination())
+                && Objects.equals(a.getRaOfAscNode(), b.getRaOfAscNode())
+                && Objects.equals(a.getEccentricity(), b.getEccentricity())
+                && Objects.equals(a.getArgOfPericenter(), b.getArgOfPericenter())
+                && Objects.equals(a.getMeanAnomaly(), b.getMeanAnomaly())
+                && Objects.equals(a.getMeanMotion(), b.getMeanMotion())
+                && Objects.equals(a.getPerigee(), b.getPerigee())
+                && Objects.equals(a.getApogee(), b.getApogee());
+    }
+
+    private static boolean isOlder(Satellite candidate, Satellite current) {
+        return candidate.getEpoch() != null && current.getEpoch() != null
+                && !candidate.getEpoch().isAfter(current.getEpoch());
+    }
+
+    private static void copyElements(Satellite from, Satellite to) {
+        to.setName(from.getName());
+        to.setLatitude(from.getLatitude());
+        to.setLongitude(from.getLongitude());
+        to.setAltitude(from.getAltitude());
+        to.setEpoch(from.getEpoch());
+        to.setInclination(from.getInclination());
+        to.setRaOfAscNode(from.getRaOfAscNode());
+        to.setEccentricity(from.getEccentricity());
+        to.setArgOfPericenter(from.getArgOfPericenter());
+        to.setMeanAnomaly(from.getMeanAnomaly());
+        to.setMeanMotion(from.getMeanMotion());
+        to.setPerigee(from.getPerigee());
+        to.setApogee(from.getApogee());
+    }
+}
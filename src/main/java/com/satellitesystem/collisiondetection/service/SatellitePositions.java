@@ -0,0 +1,87 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+
+import java.util.List;
+
+//cartesian positions of a satellite list stored as three primitive arrays (structure of arrays)
+//index i holds satellite i of the list it was built from, the trig is done once per satellite here
+//so the screening kernel only reads doubles and never allocates per pair
+public final class SatellitePositions {
+
+    static final double EARTH_RADIUS = 6371.8;  //earth's radius in kms (standard reference value)
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+
+    private SatellitePositions(double[] x, double[] y, double[] z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public static SatellitePositions of(List<Satellite> satellites) {
+        int n = satellites.size();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] z = new double[n];
+        for (int i = 0; i < n; i++) {
+            Satellite sat = satellites.get(i);
+            toCartesian(sat.getLatitude(), sat.getLongitude(), sat.getAltitude(), x, y, z, i);
+        }
+        return new SatellitePositions(x, y, z);
+    }
+
+    //wraps positions that are already computed (e.g. read back from the catalog snapshot)
+    static SatellitePositions of(double[] x, double[] y, double[] z) {
+        return new SatellitePositions(x, y, z);
+    }
+
+    //converting satellite position from geodetic coords (lat/long/alt) to 3D cartesian coords (x,y,z)
+    //uses speherical to cartesian transformation:
+    //- X = (R + altitude) * cos(latitude) * cos(longitude)
+    //- Y = (R + altitude) * cos(latitude) * sin(longitude)
+    //- Z = (R + altitude) * sin(latitude)
+    //where R is Earth's radius at sea level (6371 km)
+    static void toCartesian(double latitude, double longitude, double altitude,
+                            double[] x, double[] y, double[] z, int i) {
+        //convert degrees to radians (java trig functions use radians)
+        double latRad = Math.toRadians(latitude);
+        double lonRad = Math.toRadians(longitude);
+
+        //distnace from earth's center equals earth radisu plus altitude above sea level
+        double r = EARTH_RADIUS + altitude;
+        double cosLat = Math.cos(latRad);
+
+        x[i] = r * cosLat * Math.cos(lonRad);
+        y[i] = r * cosLat * Math.sin(lonRad);
+        z[i] = r * Math.sin(latRad);
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    //raw arrays for the distance kernels, never written to
+    double[] xs() { return x; }
+    double[] ys() { return y; }
+    double[] zs() { return z; }
+
+    public double x(int i) { return x[i]; }
+    public double y(int i) { return y[i]; }
+    public double z(int i) { return z[i]; }
+
+    //squared straight line distance, cheap enough for the inner loop (no sqrt)
+    public double distanceSquared(int i, int j) {
+        double dx = x[j] - x[i];
+        double dy = y[j] - y[i];
+        double dz = z[j] - z[i];
+        return dx*dx + dy*dy + dz*dz;
+    }
+
+    //pythag theorem in 3D, straight line distance in km
+    public double distance(int i, int j) {
+        return Math.sqrt(distanceSquared(i, j));
+    }
+}
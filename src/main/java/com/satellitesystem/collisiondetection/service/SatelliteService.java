@@ -3,8 +3,8 @@ package com.satellitesystem.collisiondetection.service;
 import com.satellitesystem.collisiondetection.model.Satellite;
 import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import java.util.List;
 
 @Service
 public class SatelliteService {
@@ -12,8 +12,14 @@ public class SatelliteService {
     @Autowired //dependency injection
     private SatelliteRepository repository;
 
-    public List<Satellite> getAllSatellites() {
-        return repository.findAll();
+    @Autowired
+    private KeysetPaging paging;
+
+    //satellites after the cursor id, page size capped by api.page.max-size
+    public KeysetPage<SatelliteSummary> getSatellites(Long after, Integer limit) {
+        int size = paging.size(limit);
+        return KeysetPage.of(repository.findSummariesAfter(KeysetPaging.after(after), Limit.of(size)), size,
+                SatelliteSummary::id);
     }
 
     public Satellite saveSatellite(Satellite satellite) {
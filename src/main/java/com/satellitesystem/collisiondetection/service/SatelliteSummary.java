@@ -0,0 +1,8 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.time.LocalDateTime;
+
+//list view of a satellite, without the orbital elements
+public record SatelliteSummary(Long id, String noradId, String name, double latitude, double longitude,
+                               double altitude, LocalDateTime epoch) {
+}
@@ -0,0 +1,33 @@
+package com.satellitesystem.collisiondetection.service;
+
+//plain loop kernel, the reference and the fallback when the vector module is not available
+public final class ScalarDistanceKernel implements DistanceKernel {
+
+    @Override
+    public int withinRange(SatellitePositions positions, int i, int from, int to, double thresholdSquared, int[] out) {
+        int count = 0;
+        for (int j = from; j < to; j++) {
+            if (positions.distanceSquared(i, j) < thresholdSquared) {
+                out[count++] = j;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int withinIndexes(SatellitePositions positions, int i, int[] candidates, int from, int to,
+                             double thresholdSquared, int[] out) {
+        int count = 0;
+        for (int c = from; c < to; c++) {
+            if (positions.distanceSquared(i, candidates[c]) < thresholdSquared) {
+                out[count++] = candidates[c];
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,148 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.CollisionPrediction;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//single-flight coordination of screening runs
+//a trigger joins the in-flight run if that run is screening the current catalog version and covers the
+//requested mode (a full run covers an incremental one, not the other way round); otherwise the trigger
+//joins (or creates) the one queued follow-up run instead
+//runs execute one at a time on a dedicated thread, so at most one run is in flight and one is waiting
+@Service
+public class ScreeningCoordinator {
+
+    @Autowired
+    private CollisionDetectionService collisionDetectionService;
+
+    @Autowired
+    private CatalogChangeTracker changeTracker;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "screening-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScreeningRun inFlight;
+    private ScreeningRun followUp;
+
+    //returns the run this trigger was coalesced into, without waiting for it
+    public synchronized ScreeningRun trigger(ScreeningMode mode) {
+        ScreeningRun run = coalesce(mode);
+        run.subscribe();
+        return run;
+    }
+
+    //fire and forget for background callers: the run starts or joins the same way but gains no subscriber,
+    //so it never holds off a cancel from the callers that do wait for it
+    public synchronized ScreeningRun submit(ScreeningMode mode) {
+        return coalesce(mode);
+    }
+
+    private ScreeningRun coalesce(ScreeningMode mode) {
+        ScreeningRun run;
+        if (inFlight == null) {
+            run = new ScreeningRun(mode);
+            start(run);
+        } else if (inFlight.getCatalogVersion() == changeTracker.version() && !inFlight.getProgress().isCancelRequested()
+                && covers(inFlight.getMode(), mode)) {
+            //same catalog, share the result of the run that is already going
+            run = inFlight;
+        } else {
+            //catalog changed mid-run, exactly one follow-up covers every trigger that arrives meanwhile
+            if (followUp == null) {
+                followUp = new ScreeningRun(mode);
+            } else if (!covers(followUp.getMode(), mode)) {
+                followUp.setMode(mode);
+            }
+            run = followUp;
+        }
+        return run;
+    }
+
+    private static boolean covers(ScreeningMode running, ScreeningMode requested) {
+        return running.isFull() || !requested.isFull();
+    }
+
+    //trigger and wait, for callers that want the synchronous behaviour
+    public List<CollisionPrediction> detectCollisions(ScreeningMode mode) {
+        try {
+            return trigger(mode).getResult().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    //drops one subscriber, the run itself is only cancelled once nobody is waiting for it
+    public synchronized void unsubscribe(ScreeningRun run) {
+        if (run.unsubscribe() > 0) {
+            return;
+        }
+        if (run == followUp) {
+            followUp = null;
+            run.setFinishedAt(LocalDateTime.now());
+            run.getResult().completeExceptionally(new CancellationException("Screening run cancelled"));
+            run.getProgress().setPhase(ScreeningPhase.CANCELLED);
+        } else {
+            run.getProgress().cancel();
+        }
+    }
+
+    private void start(ScreeningRun run) {
+        run.setCatalogVersion(changeTracker.version());
+        inFlight = run;
+        runner.execute(() -> execute(run));
+    }
+
+    private void execute(ScreeningRun run) {
+        run.setStartedAt(LocalDateTime.now());
+        try {
+            List<CollisionPrediction> predictions = collisionDetectionService.detectCollisions(run.getMode(), run.getProgress());
+            finish(run, ScreeningPhase.DONE, () -> run.getResult().complete(predictions));
+        } catch (CancellationException e) {
+            System.out.println("Screening run " + run.getId() + " cancelled");
+            finish(run, ScreeningPhase.CANCELLED, () -> run.getResult().completeExceptionally(e));
+        } catch (RuntimeException e) {
+            System.err.println("Screening run " + run.getId() + " failed: " + e.getMessage());
+            e.printStackTrace();
+            run.setError(e.getMessage());
+            finish(run, ScreeningPhase.FAILED, () -> run.getResult().completeExceptionally(e));
+        }
+    }
+
+    //the slot is released before waiters wake, so a trigger right after a run never joins the finished one,
+    //and the terminal phase is published last, so a status poll that sees it also finds the finish time and result
+    private void finish(ScreeningRun run, ScreeningPhase phase, Runnable completeResult) {
+        run.setFinishedAt(LocalDateTime.now());
+        releaseSlot();
+        completeResult.run();
+        run.getProgress().setPhase(phase);
+    }
+
+    //clears the in-flight slot and starts the queued follow-up, if any
+    private synchronized void releaseSlot() {
+        inFlight = null;
+        if (followUp != null) {
+            ScreeningRun next = followUp;
+            followUp = null;
+            start(next);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+}
@@ -0,0 +1,12 @@
+package com.satellitesystem.collisiondetection.service;
+
+//a pair found within the collision threshold, indexes refer to the screened satellite list
+//ordered by (first, second) so merged results come out the same whatever the thread split
+public record ScreeningHit(int first, int second, double distance) implements Comparable<ScreeningHit> {
+
+    @Override
+    public int compareTo(ScreeningHit other) {
+        int byFirst = Integer.compare(first, other.first);
+        return byFirst != 0 ? byFirst : Integer.compare(second, other.second);
+    }
+}
@@ -0,0 +1,52 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.CollisionPrediction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+//one submitted screening job, a handle on the (possibly shared) run it was coalesced into
+public class ScreeningJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final ScreeningMode mode;
+    private final ScreeningRun run;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private volatile LocalDateTime cancelledAt;
+
+    public ScreeningJob(ScreeningMode mode, ScreeningRun run) {
+        this.mode = mode;
+        this.run = run;
+    }
+
+    public String getId() { return id; }
+    public ScreeningMode getMode() { return mode; }
+    public ScreeningRun getRun() { return run; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+
+    //a job cancelled while others still share its run shows CANCELLED even though the run goes on
+    public ScreeningPhase getPhase() {
+        return cancelledAt != null ? ScreeningPhase.CANCELLED : run.getProgress().getPhase();
+    }
+
+    //null unless the job finished DONE
+    public List<CollisionPrediction> getResult() {
+        return getPhase() == ScreeningPhase.DONE ? run.getResult().getNow(null) : null;
+    }
+
+    boolean markCancelled() {
+        if (cancelledAt != null || getPhase().isFinished()) {
+            return false;
+        }
+        cancelledAt = LocalDateTime.now();
+        return true;
+    }
+
+    public ScreeningJobStatus toStatus() {
+        ScreeningProgress progress = run.getProgress();
+        return new ScreeningJobStatus(id, run.getId(), mode, getPhase(), progress.getSatellites(),
+                progress.getPairsChecked(), progress.getHits(), progress.getPruned(), submittedAt, run.getStartedAt(),
+                cancelledAt != null ? cancelledAt : run.getFinishedAt(), run.getError());
+    }
+}
@@ -0,0 +1,65 @@
+package com.satellitesystem.collisiondetection.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+//background screening jobs so http requests return straight away
+//each job is attached to a coordinated run (see ScreeningCoordinator), which executes on its own
+//dedicated thread; finished jobs are kept for polling until the retention limit pushes the oldest out
+@Service
+public class ScreeningJobService {
+
+    @Autowired
+    private ScreeningCoordinator coordinator;
+
+    @Value("${screening.jobs.retained:50}")
+    private int retainedJobs;
+
+    private final Map<String, ScreeningJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> submitOrder = new ConcurrentLinkedQueue<>();
+
+    public ScreeningJob submit(ScreeningMode mode) {
+        ScreeningJob job = new ScreeningJob(mode, coordinator.trigger(mode));
+        jobs.put(job.getId(), job);
+        submitOrder.add(job.getId());
+        evictFinished();
+        return job;
+    }
+
+    public ScreeningJob getJob(String id) {
+        return jobs.get(id);
+    }
+
+    public List<ScreeningJobStatus> getJobs() {
+        return jobs.values().stream().map(ScreeningJob::toStatus).toList();
+    }
+
+    //the job stops waiting at once, its run is cancelled only if no other job or request shares it
+    public ScreeningJob cancel(String id) {
+        ScreeningJob job = jobs.get(id);
+        if (job != null && job.markCancelled()) {
+            coordinator.unsubscribe(job.getRun());
+        }
+        return job;
+    }
+
+    //oldest finished jobs go first, running ones are never dropped
+    private void evictFinished() {
+        Iterator<String> ids = submitOrder.iterator();
+        while (jobs.size() > retainedJobs && ids.hasNext()) {
+            String id = ids.next();
+            ScreeningJob job = jobs.get(id);
+            if (job == null || job.getPhase().isFinished()) {
+                jobs.remove(id);
+                ids.remove();
+            }
+        }
+    }
+}
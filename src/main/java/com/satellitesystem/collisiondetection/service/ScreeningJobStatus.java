@@ -0,0 +1,10 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+//what a status poll returns for a screening job, jobs coalesced into the same run share a runId
+public record ScreeningJobStatus(String id, String runId, ScreeningMode mode, ScreeningPhase phase, int satellites,
+                                 long pairsChecked, long hits, Map<String, Long> pruned, LocalDateTime submittedAt,
+                                 LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+}
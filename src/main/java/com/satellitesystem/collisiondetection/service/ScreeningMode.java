@@ -0,0 +1,22 @@
+package com.satellitesystem.collisiondetection.service;
+
+//how candidate pairs are generated before the distance check (GRID and SWEEP also run the prefilter stage)
+//GRID: uniform 3D cell grid, only neighbouring cells are compared (default)
+//SWEEP: satellites sorted by perigee/apogee shell, sweep-and-prune only generates pairs whose shells overlap
+//WINDOW: elements propagated over a time window (collision.window.*), close pairs refined to their time of
+//        closest approach; the only mode whose predictions carry a real TCA
+//BRUTE_FORCE: original nested loop over every pair, kept as a reference to cross check the grid
+//INCREMENTAL: only satellites changed since the last screen, checked against the grid of the whole catalog
+//             (or the window screen when WINDOW is the configured mode; predictions for unchanged pairs are kept, falls back to a full GRID run without a baseline)
+public enum ScreeningMode {
+    GRID,
+    SWEEP,
+    WINDOW,
+    BRUTE_FORCE,
+    INCREMENTAL;
+
+    //full modes rebuild every prediction
+    public boolean isFull() {
+        return this != INCREMENTAL;
+    }
+}
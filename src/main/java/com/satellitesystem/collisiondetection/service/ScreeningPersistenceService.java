@@ -0,0 +1,82 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Alert;
+import com.satellitesystem.collisiondetection.model.CollisionPrediction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+//writes the results of a screening run in one transaction
+//rows are persisted in chunks of the jdbc batch size and flushed/cleared after each chunk,
+//so hibernate sends them as jdbc batches and the persistence context never holds the whole run
+@Service
+public class ScreeningPersistenceService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${collision.persistence.batch-size:500}")
+    private int batchSize;
+
+    //ids per bulk delete, keeps the IN lists well under driver parameter limits
+    private static final int DELETE_CHUNK = 1000;
+
+    @Autowired
+    private DataResetService resetService;
+
+    @Autowired
+    private CollisionPredictionRepository predictionRepository;
+
+    @Autowired
+    private AlertCoalescer alertCoalescer;
+
+    //swaps the previous run's predictions for this run's in a single transaction, a cancelled or failed run
+    //leaves the old results alone
+    //the old rows go with a row-locking DELETE (see DataResetService.clearScreeningResults), so concurrent reads
+    //and exports are not blocked and see the previous run until commit; a second writer to the table (another
+    //run, an incremental replace) waits on those row locks until this one commits
+    //returns the alerts this run raised or escalated
+    @Transactional
+    public List<Alert> replaceRun(List<CollisionPrediction> predictions) {
+        resetService.clearScreeningResults();
+        persistInBatches(predictions);
+        return alertCoalescer.coalesce(predictions, null);
+    }
+
+    //incremental counterpart of replaceRun: only results involving the given satellites are swapped,
+    //predictions between two unchanged satellites stay as they are
+    @Transactional
+    public List<Alert> replaceInvolving(Collection<Long> satelliteIds, List<CollisionPrediction> predictions) {
+        List<Long> ids = new ArrayList<>(satelliteIds);
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK, ids.size()));
+            deleted += predictionRepository.deleteInvolvingSatellites(chunk);
+        }
+        System.out.println("Removed " + deleted + " predictions involving " + ids.size() + " changed satellites");
+        persistInBatches(predictions);
+        return alertCoalescer.coalesce(predictions, ids);
+    }
+
+    private void persistInBatches(List<?> entities) {
+        int pending = 0;
+        for (Object entity : entities) {
+            entityManager.persist(entity);
+            if (++pending == batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,16 @@
+package com.satellitesystem.collisiondetection.service;
+
+//lifecycle of a screening run as reported to job status polls
+public enum ScreeningPhase {
+    QUEUED,
+    LOADING_CATALOG,
+    SCREENING,
+    PERSISTING,
+    DONE,
+    CANCELLED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == DONE || this == CANCELLED || this == FAILED;
+    }
+}
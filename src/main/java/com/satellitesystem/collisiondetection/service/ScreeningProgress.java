@@ -0,0 +1,47 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+//live counters for one screening run, written by the screening threads and read by status polls
+//cancel() is cooperative, the run checks it between phases and inside every fork/join leaf
+public class ScreeningProgress {
+
+    private volatile ScreeningPhase phase = ScreeningPhase.QUEUED;
+    private volatile int satellites;
+    private final AtomicLong pairsChecked = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private volatile Map<String, Long> pruned = Map.of();
+    private volatile boolean cancelRequested;
+
+    public ScreeningPhase getPhase() { return phase; }
+    public void setPhase(ScreeningPhase phase) { this.phase = phase; }
+
+    public int getSatellites() { return satellites; }
+    public void setSatellites(int satellites) { this.satellites = satellites; }
+
+    public long getPairsChecked() { return pairsChecked.get(); }
+    public void addPairsChecked(long count) { pairsChecked.addAndGet(count); }
+
+    public long getHits() { return hits.get(); }
+    public void addHits(long count) { hits.addAndGet(count); }
+
+    //pairs removed per prefilter, set once screening has finished
+    public Map<String, Long> getPruned() { return pruned; }
+    public void setPruned(Map<String, Long> pruned) { this.pruned = pruned; }
+
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelRequested) {
+            throw new CancellationException("Screening run cancelled");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.util.List;
+import java.util.Map;
+
+//output of one screening pass: hits in deterministic order, how many pairs were distance checked
+//and how many candidate pairs each prefilter removed before the distance check
+public record ScreeningResult(List<ScreeningHit> hits, long pairsChecked, Map<String, Long> pruned) {
+
+    public ScreeningResult(List<ScreeningHit> hits, long pairsChecked) {
+        this(hits, pairsChecked, Map.of());
+    }
+}
@@ -0,0 +1,50 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.CollisionPrediction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//one coalesced screening run, shared by every trigger that joined it
+public class ScreeningRun {
+
+    private final String id = UUID.randomUUID().toString();
+    private volatile ScreeningMode mode;
+    private final ScreeningProgress progress = new ScreeningProgress();
+    private final CompletableFuture<List<CollisionPrediction>> result = new CompletableFuture<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private volatile long catalogVersion = -1;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ScreeningRun(ScreeningMode mode) {
+        this.mode = mode;
+    }
+
+    public String getId() { return id; }
+    public ScreeningMode getMode() { return mode; }
+    //a queued incremental run is upgraded when a full run is asked for before it starts
+    void setMode(ScreeningMode mode) { this.mode = mode; }
+    public ScreeningProgress getProgress() { return progress; }
+    public CompletableFuture<List<CollisionPrediction>> getResult() { return result; }
+
+    //catalog version when the run started, -1 while it is still queued
+    public long getCatalogVersion() { return catalogVersion; }
+    void setCatalogVersion(long catalogVersion) { this.catalogVersion = catalogVersion; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getError() { return error; }
+    void setError(String error) { this.error = error; }
+
+    int subscribe() { return subscribers.incrementAndGet(); }
+    int unsubscribe() { return subscribers.decrementAndGet(); }
+}
@@ -0,0 +1,83 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+//radial extent (km from earth's centre) each satellite can be screened at, sorted for sweep-and-prune
+//the band is [perigee, apogee] from the orbital elements, widened to take in the screened position so the
+//filter never rules out a pair the distance kernel could still report; satellites without elements get
+//the zero width band of their position
+//two satellites whose bands are more than the threshold apart can never come within the threshold
+public class ShellBands {
+
+    private final double[] low;
+    private final double[] high;
+    //satellite indexes sorted by the low edge of their band
+    private final int[] order;
+
+    private ShellBands(double[] low, double[] high) {
+        this.low = low;
+        this.high = high;
+        this.order = sortByLow(low);
+    }
+
+    public static ShellBands of(List<Satellite> satellites, SatellitePositions positions) {
+        int n = positions.size();
+        double[] low = new double[n];
+        double[] high = new double[n];
+        for (int i = 0; i < n; i++) {
+            double radius = Math.sqrt(positions.x(i) * positions.x(i) + positions.y(i) * positions.y(i)
+                    + positions.z(i) * positions.z(i));
+            low[i] = radius;
+            high[i] = radius;
+
+            Satellite sat = satellites.get(i);
+            if (sat.getPerigee() != null && sat.getApogee() != null) {
+                low[i] = Math.min(radius, SatellitePositions.EARTH_RADIUS + sat.getPerigee());
+                high[i] = Math.max(radius, SatellitePositions.EARTH_RADIUS + sat.getApogee());
+            }
+        }
+        return new ShellBands(low, high);
+    }
+
+    //bands that are already known, e.g. straight from the propagated orbits
+    static ShellBands of(double[] low, double[] high) {
+        return new ShellBands(low, high);
+    }
+
+    public int size() {
+        return low.length;
+    }
+
+    public boolean overlap(int i, int j, double threshold) {
+        return low[j] <= high[i] + threshold && low[i] <= high[j] + threshold;
+    }
+
+    //sweep over the sorted bands: for each satellite with sort rank in [fromRank, toRank), every later satellite
+    //whose band starts before this one's ends (plus the threshold); every overlapping pair is emitted once,
+    //lower index first, and disjoint rank ranges never share a pair
+    public void forEachOverlappingPair(int fromRank, int toRank, double threshold, SpatialGrid.PairConsumer consumer) {
+        for (int r = fromRank; r < toRank; r++) {
+            int i = order[r];
+            double reach = high[i] + threshold;
+            for (int s = r + 1; s < order.length && low[order[s]] <= reach; s++) {
+                int j = order[s];
+                if (i < j) {
+                    consumer.accept(i, j);
+                } else {
+                    consumer.accept(j, i);
+                }
+            }
+        }
+    }
+
+    private static int[] sortByLow(double[] low) {
+        return IntStream.range(0, low.length)
+                .boxed()
+                .sorted((a, b) -> Double.compare(low[a], low[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
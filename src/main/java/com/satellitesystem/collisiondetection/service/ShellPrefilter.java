@@ -0,0 +1,22 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//apogee/perigee filter: rejects pairs whose altitude shells never come within the threshold of each other
+@Component
+public class ShellPrefilter implements PairPrefilter {
+
+    @Override
+    public String name() {
+        return "shell";
+    }
+
+    @Override
+    public PairTest prepare(List<Satellite> satellites, SatellitePositions positions, double threshold) {
+        ShellBands bands = ShellBands.of(satellites, positions);
+        return (first, second) -> bands.overlap(first, second, threshold);
+    }
+}
@@ -0,0 +1,170 @@
+package com.satellitesystem.collisiondetection.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+//shared Space-Track connection: one HttpClient and one cookie session reused by every request
+//all calls go through the rate limiter, throttled (429), server errors and connection failures
+//are retried with exponential backoff, an expired session (401) triggers one fresh login
+@Component
+public class SpaceTrackClient {
+
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final RateLimiter rateLimiter;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+
+    private final CookieManager cookieManager = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+    private final HttpClient client;
+
+    private volatile boolean loggedIn;
+    //guards the login, a lock rather than synchronized: the fetcher runs on virtual threads and a monitor held
+    //across the rate limiter sleep and the http call would pin every waiting one to its carrier (java 21)
+    private final ReentrantLock loginLock = new ReentrantLock();
+
+    public interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    @Autowired
+    public SpaceTrackClient(@Value("${nasa.api.url:https://www.space-track.org}") String baseUrl,
+                            @Value("${nasa.api.username}") String username,
+                            @Value("${nasa.api.password}") String password,
+                            @Value("${nasa.api.requests-per-minute:20}") double requestsPerMinute,
+                            @Value("${nasa.api.max-retries:4}") int maxRetries,
+                            @Value("${nasa.api.retry-backoff-ms:1000}") long retryBackoffMillis) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.username = username;
+        this.password = password;
+        this.rateLimiter = new RateLimiter(requestsPerMinute);
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(cookieManager)
+                .connectTimeout(Duration.ofSeconds(30))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    //GET a query path (relative to the base url) and hand the streamed body to the reader
+    public <T> T get(String path, BodyReader<T> reader) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        int attempt = 0;
+        boolean reloggedIn = false;
+        while (true) {
+            ensureLoggedIn();
+            rateLimiter.acquire();
+
+            HttpResponse<InputStream> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (IOException e) {
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                System.err.println("Space-Track request failed (" + e.getMessage() + "), retrying " + path);
+                backoff(attempt++, null);
+                continue;
+            }
+
+            try (InputStream body = response.body()) {
+                int status = response.statusCode();
+                if (status == 200) {
+                    return reader.read(body);
+                }
+                if (status == 401 && !reloggedIn) {
+                    //session expired, log in again once
+                    loggedIn = false;
+                    reloggedIn = true;
+                    continue;
+                }
+                if ((status == 429 || status >= 500) && attempt < maxRetries) {
+                    System.err.println("Space-Track returned " + status + ", retrying " + path);
+                    backoff(attempt++, response.headers().firstValue("Retry-After").orElse(null));
+                    continue;
+                }
+                throw new IOException("Space-Track request " + path + " failed with status " + status
+                        + " - Response: " + new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    //login using /ajaxauth/login (like the Python client does), session cookie is kept by the cookie manager
+    private void ensureLoggedIn() throws IOException, InterruptedException {
+        if (loggedIn) {
+            return;
+        }
+        loginLock.lockInterruptibly();
+        try {
+            if (!loggedIn) {
+                login();
+            }
+        } finally {
+            loginLock.unlock();
+        }
+    }
+
+    private void login() throws IOException, InterruptedException {
+        System.out.println("Logging in to Space-Track...");
+
+        String loginBody = "identity=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+
+        HttpRequest loginRequest = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/ajaxauth/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                .build();
+
+        rateLimiter.acquire();
+        HttpResponse<String> loginResponse = client.send(loginRequest, HttpResponse.BodyHandlers.ofString());
+        System.out.println("Login response: " + loginResponse.statusCode());
+
+        //check if login succeeded
+        if (loginResponse.statusCode() != 200 || loginResponse.body().contains("\"Login\":\"Failed\"")) {
+            throw new IOException("Login failed - check your username and password");
+        }
+        loggedIn = true;
+        System.out.println("Login successful!");
+    }
+
+    //exponential backoff, a Retry-After header in seconds takes precedence
+    private void backoff(int attempt, String retryAfter) throws InterruptedException {
+        long delay = retryBackoffMillis << Math.min(attempt, 10);
+        if (retryAfter != null) {
+            try {
+                delay = Math.max(delay, Long.parseLong(retryAfter.trim()) * 1000);
+            } catch (NumberFormatException ignored) {
+                //http date form, keep our own delay
+            }
+        }
+        Thread.sleep(delay);
+    }
+
+    @PreDestroy
+    public void close() {
+        client.close();
+    }
+}
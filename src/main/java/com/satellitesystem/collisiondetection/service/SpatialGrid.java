@@ -0,0 +1,211 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+//uniform 3D hash grid used as the broad phase of collision screening
+//cell edge length equals the collision threshold, so two satellites closer than the threshold
+//are always in the same cell or in one of the 26 neighbouring cells
+//only occupied cells are stored, keyed by their packed (cx, cy, cz) coordinates
+public class SpatialGrid {
+
+    //21 bits per axis, cell coords are offset so negative positions pack cleanly
+    private static final int AXIS_BITS = 21;
+    private static final long AXIS_MASK = (1L << AXIS_BITS) - 1;
+    private static final int AXIS_OFFSET = 1 << (AXIS_BITS - 1);
+
+    //half of the 26 neighbour offsets, visiting only these means every neighbouring cell pair is seen once
+    static final int[][] FORWARD_NEIGHBOURS = forwardNeighbours();
+
+    private final double cellSize;
+    private final Map<Long, List<Integer>> cells = new HashMap<>();
+    //occupied cell keys in insertion order, lets callers split the cells into ranges
+    private final List<Long> cellKeys = new ArrayList<>();
+
+    public interface PairConsumer {
+        void accept(int first, int second);
+    }
+
+    public interface BlockConsumer {
+        //first against candidates[from, to)
+        void accept(int first, int[] candidates, int from, int to);
+    }
+
+    public SpatialGrid(double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    //adds a satellite (by its index in the screened list) at cartesian position x,y,z (km)
+    public void insert(int index, double x, double y, double z) {
+        long key = key(cell(x), cell(y), cell(z));
+        cells.computeIfAbsent(key, k -> {
+            cellKeys.add(k);
+            return new ArrayList<>();
+        }).add(index);
+    }
+
+    //grid over every position of a screening run
+    public static SpatialGrid of(SatellitePositions positions, double cellSize) {
+        SpatialGrid grid = new SpatialGrid(cellSize);
+        for (int i = 0; i < positions.size(); i++) {
+            grid.insert(i, positions.x(i), positions.y(i), positions.z(i));
+        }
+        return grid;
+    }
+
+    public int occupiedCells() {
+        return cells.size();
+    }
+
+    //emits every pair sharing a cell or sitting in adjacent cells exactly once, lower index first
+    public void forEachCandidatePair(PairConsumer consumer) {
+        forEachCandidatePair(0, cellKeys.size(), consumer);
+    }
+
+    //same as above but only for pairs owned by cells [fromCell, toCell), ranges never share a pair
+    //so disjoint ranges can be screened on different threads
+    public void forEachCandidatePair(int fromCell, int toCell, PairConsumer consumer) {
+        for (int c = fromCell; c < toCell; c++) {
+            long key = cellKeys.get(c);
+            List<Integer> members = cells.get(key);
+
+            //pairs inside the cell itself
+            for (int a = 0; a < members.size(); a++) {
+                for (int b = a + 1; b < members.size(); b++) {
+                    emit(consumer, members.get(a), members.get(b));
+                }
+            }
+
+            //pairs against the forward half of the neighbourhood
+            int cx = unpack(key, 2);
+            int cy = unpack(key, 1);
+            int cz = unpack(key, 0);
+            for (int[] offset : FORWARD_NEIGHBOURS) {
+                List<Integer> neighbours = cells.get(key(cx + offset[0], cy + offset[1], cz + offset[2]));
+                if (neighbours == null) {
+                    continue;
+                }
+                for (int first : members) {
+                    for (int second : neighbours) {
+                        emit(consumer, first, second);
+                    }
+                }
+            }
+        }
+    }
+
+    //the same pairs as forEachCandidatePair grouped per object, for kernels that test a block at once:
+    //each cell's members are laid out followed by every member of its forward neighbours, and member t is
+    //handed the contiguous block after itself (pairs are not ordered lower index first here)
+    public void forEachCandidateBlock(int fromCell, int toCell, BlockConsumer consumer) {
+        int[] block = new int[64];
+        for (int c = fromCell; c < toCell; c++) {
+            long key = cellKeys.get(c);
+            List<Integer> members = cells.get(key);
+            int size = 0;
+            block = append(block, size, members);
+            size += members.size();
+
+            int cx = unpack(key, 2);
+            int cy = unpack(key, 1);
+            int cz = unpack(key, 0);
+            for (int[] offset : FORWARD_NEIGHBOURS) {
+                List<Integer> neighbours = cells.get(key(cx + offset[0], cy + offset[1], cz + offset[2]));
+                if (neighbours != null) {
+                    block = append(block, size, neighbours);
+                    size += neighbours.size();
+                }
+            }
+
+            for (int t = 0; t < members.size(); t++) {
+                if (t + 1 < size) {
+                    consumer.accept(block[t], block, t + 1, size);
+                }
+            }
+        }
+    }
+
+    private static int[] append(int[] block, int size, List<Integer> indexes) {
+        if (size + indexes.size() > block.length) {
+            block = Arrays.copyOf(block, Math.max(block.length * 2, size + indexes.size()));
+        }
+        for (int index : indexes) {
+            block[size++] = index;
+        }
+        return block;
+    }
+
+    //every indexed satellite in the cell containing (x, y, z) and its 26 neighbours,
+    //i.e. every candidate within one cell size of that point
+    public void forEachNeighbour(double x, double y, double z, IntConsumer consumer) {
+        forEachNear(x, y, z, 1, consumer);
+    }
+
+    //every indexed satellite within rings cells of the cell containing (x, y, z) on each axis,
+    //covers every candidate within rings * cell size of that point
+    public void forEachNear(double x, double y, double z, int rings, IntConsumer consumer) {
+        int cx = cell(x);
+        int cy = cell(y);
+        int cz = cell(z);
+        for (int dx = -rings; dx <= rings; dx++) {
+            for (int dy = -rings; dy <= rings; dy++) {
+                for (int dz = -rings; dz <= rings; dz++) {
+                    List<Integer> members = cells.get(key(cx + dx, cy + dy, cz + dz));
+                    if (members != null) {
+                        for (int index : members) {
+                            consumer.accept(index);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public double cellSize() {
+        return cellSize;
+    }
+
+    private static void emit(PairConsumer consumer, int a, int b) {
+        if (a < b) {
+            consumer.accept(a, b);
+        } else {
+            consumer.accept(b, a);
+        }
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    static long key(int cx, int cy, int cz) {
+        return (((long) (cx + AXIS_OFFSET) & AXIS_MASK) << (2 * AXIS_BITS))
+                | (((long) (cy + AXIS_OFFSET) & AXIS_MASK) << AXIS_BITS)
+                | ((long) (cz + AXIS_OFFSET) & AXIS_MASK);
+    }
+
+    static int unpack(long key, int axis) {
+        return (int) ((key >>> (axis * AXIS_BITS)) & AXIS_MASK) - AXIS_OFFSET;
+    }
+
+    //offsets that come "after" (0,0,0) in lexicographic order, 13 of them
+    private static int[][] forwardNeighbours() {
+        List<int[]> offsets = new ArrayList<>();
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    if (dx > 0 || (dx == 0 && dy > 0) || (dx == 0 && dy == 0 && dz > 0)) {
+                        offsets.add(new int[]{dx, dy, dz});
+                    }
+                }
+            }
+        }
+        return offsets.toArray(new int[0][]);
+    }
+}
@@ -0,0 +1,6 @@
+package com.satellitesystem.collisiondetection.service;
+
+//an ad-hoc state to screen against the catalog, e.g. a planned post-maneuver position
+//(same latitude/longitude/altitude convention as Satellite); excludeSatelliteId leaves the asset itself out
+public record StateQuery(String label, double latitude, double longitude, double altitude, Long excludeSatelliteId) {
+}
@@ -0,0 +1,131 @@
+package com.satellitesystem.collisiondetection.service;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+//primitive counterpart of SpatialGrid for the time-window screen, which grids the whole catalog once per step
+//cells live in an open addressing table of packed cell keys, members of a cell are chained through one int per
+//object, so a rebuild is a pass over the positions with no boxing and no allocation once the arrays are sized
+//one instance per worker thread, reset before every step
+final class StepGrid {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private double cellSize;
+    private long[] slotKeys = new long[0];
+    private int[] slotHeads = new int[0];
+    private int slotMask;
+    //slots in use, in insertion order, so reset and the pair walk only touch occupied cells
+    private int[] occupied = new int[0];
+    private int occupiedCount;
+    //next member of the same cell, -1 ends the chain
+    private int[] next = new int[0];
+
+    void reset(double cellSize, int objects) {
+        this.cellSize = cellSize;
+        int capacity = Integer.highestOneBit(Math.max(16, objects * 2) - 1) << 1;
+        if (slotKeys.length < capacity) {
+            slotKeys = new long[capacity];
+            Arrays.fill(slotKeys, EMPTY);
+            slotHeads = new int[capacity];
+            occupied = new int[capacity];
+            slotMask = capacity - 1;
+        } else {
+            for (int i = 0; i < occupiedCount; i++) {
+                slotKeys[occupied[i]] = EMPTY;
+            }
+        }
+        occupiedCount = 0;
+        if (next.length < objects) {
+            next = new int[objects];
+        }
+    }
+
+    void insert(int index, double x, double y, double z) {
+        long key = SpatialGrid.key(cell(x), cell(y), cell(z));
+        int slot = slot(key);
+        if (slotKeys[slot] == EMPTY) {
+            slotKeys[slot] = key;
+            slotHeads[slot] = -1;
+            occupied[occupiedCount++] = slot;
+        }
+        next[index] = slotHeads[slot];
+        slotHeads[slot] = index;
+    }
+
+    //every pair sharing a cell or in adjacent cells exactly once, lower index first (as SpatialGrid)
+    void forEachCandidatePair(SpatialGrid.PairConsumer consumer) {
+        for (int c = 0; c < occupiedCount; c++) {
+            int slot = occupied[c];
+            long key = slotKeys[slot];
+            for (int a = slotHeads[slot]; a >= 0; a = next[a]) {
+                for (int b = next[a]; b >= 0; b = next[b]) {
+                    emit(consumer, a, b);
+                }
+            }
+            int cx = SpatialGrid.unpack(key, 2);
+            int cy = SpatialGrid.unpack(key, 1);
+            int cz = SpatialGrid.unpack(key, 0);
+            for (int[] offset : SpatialGrid.FORWARD_NEIGHBOURS) {
+                int neighbour = find(SpatialGrid.key(cx + offset[0], cy + offset[1], cz + offset[2]));
+                if (neighbour < 0) {
+                    continue;
+                }
+                for (int a = slotHeads[slot]; a >= 0; a = next[a]) {
+                    for (int b = slotHeads[neighbour]; b >= 0; b = next[b]) {
+                        emit(consumer, a, b);
+                    }
+                }
+            }
+        }
+    }
+
+    //every object in the cell containing (x, y, z) and its 26 neighbours
+    void forEachNeighbour(double x, double y, double z, IntConsumer consumer) {
+        int cx = cell(x);
+        int cy = cell(y);
+        int cz = cell(z);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    int slot = find(SpatialGrid.key(cx + dx, cy + dy, cz + dz));
+                    if (slot >= 0) {
+                        for (int member = slotHeads[slot]; member >= 0; member = next[member]) {
+                            consumer.accept(member);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    //slot holding key or the empty slot where it goes
+    private int slot(long key) {
+        int slot = hash(key);
+        while (slotKeys[slot] != EMPTY && slotKeys[slot] != key) {
+            slot = (slot + 1) & slotMask;
+        }
+        return slot;
+    }
+
+    private int find(long key) {
+        int slot = slot(key);
+        return slotKeys[slot] == EMPTY ? -1 : slot;
+    }
+
+    private int hash(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & slotMask;
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static void emit(SpatialGrid.PairConsumer consumer, int a, int b) {
+        if (a < b) {
+            consumer.accept(a, b);
+        } else {
+            consumer.accept(b, a);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Alert;
+import com.satellitesystem.collisiondetection.model.Satellite;
+import com.satellitesystem.collisiondetection.repository.AlertRepository;
+import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AlertCoalescerTest {
+
+    @Autowired
+    private CollisionDetectionService collisionService;
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private CollisionPredictionRepository collisionRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    private Satellite moving;
+
+    @BeforeEach
+    void setUp() {
+        alertRepository.deleteAll();
+        collisionRepository.deleteAll();
+        satelliteRepository.deleteAll();
+        satelliteRepository.save(new Satellite("FIXED", "1", 0.0, 0.0, 400.0));
+        moving = satelliteRepository.save(new Satellite("MOVING", "2", 0.0, 0.0, 401.0));
+    }
+
+    //straight above the fixed satellite, so the miss distance is the altitude difference
+    private List<Alert> screenAt(double distance) {
+        moving.setAltitude(400.0 + distance);
+        moving = satelliteRepository.save(moving);
+        collisionService.detectCollisions();
+        return alertRepository.findAll().stream().sorted(Comparator.comparing(Alert::getId)).toList();
+    }
+
+    private static List<Alert> open(List<Alert> alerts) {
+        return alerts.stream().filter(alert -> alert.getResolvedAt() == null).toList();
+    }
+
+    //TEST 1: repeated runs over the same geometry keep a single alert, small moves only update it
+    @Test
+    void testCoalesce_RepeatedRunsKeepOneAlert() {
+        screenAt(1.0);
+        screenAt(1.0);
+        List<Alert> alerts = screenAt(1.05);
+
+        assertEquals(1, alerts.size());
+        assertEquals("CRITICAL", alerts.get(0).getAlertLevel());
+        assertEquals(1.0, alerts.get(0).getMinimumDistance(), 1e-6);
+
+        alerts = screenAt(1.5);
+        assertEquals(1, alerts.size());
+        assertEquals(1.5, alerts.get(0).getMinimumDistance(), 1e-6);
+    }
+
+    //TEST 2: levels change only past the hysteresis band, a pair that drops out and returns is reopened
+    @Test
+    void testCoalesce_HysteresisEscalationAndReopen() {
+        screenAt(1.0);
+
+        //just past the 2 km critical boundary but inside the band: still critical
+        List<Alert> alerts = screenAt(2.1);
+        assertEquals(1, alerts.size());
+        assertEquals("CRITICAL", alerts.get(0).getAlertLevel());
+
+        //clearly warning: the critical alert is resolved and a warning raised
+        alerts = screenAt(3.0);
+        assertEquals(2, alerts.size());
+        assertEquals("WARNING", open(alerts).get(0).getAlertLevel());
+
+        //back under 2 km escalates straight away
+        alerts = screenAt(1.5);
+        assertEquals(2, alerts.size());
+        assertEquals(1, open(alerts).size());
+        assertEquals("CRITICAL", open(alerts).get(0).getAlertLevel());
+
+        //out of range resolves everything, coming back reopens the existing critical alert
+        alerts = screenAt(10.0);
+        assertTrue(open(alerts).isEmpty());
+        alerts = screenAt(1.5);
+        assertEquals(2, alerts.size());
+        assertEquals("CRITICAL", open(alerts).get(0).getAlertLevel());
+    }
+}
@@ -0,0 +1,78 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Alert;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlertRingBufferTest {
+
+    private static Alert alert(String message) {
+        Alert alert = new Alert();
+        alert.setMessage(message);
+        return alert;
+    }
+
+    //TEST 1: newest first, oldest overwritten once full, resume reads in sequence order
+    @Test
+    void testPublish_OverwritesOldestAndResumes() {
+        AlertRingBuffer ring = new AlertRingBuffer(3);
+        assertEquals(4, ring.capacity());
+        for (int i = 1; i <= 6; i++) {
+            assertEquals(i, ring.publish(alert("A" + i)));
+        }
+
+        assertEquals(List.of("A6", "A5", "A4"), ring.latest(3).stream().map(Alert::getMessage).toList());
+        assertEquals(4, ring.latest(100).size());
+
+        //A1 and A2 are gone, a client that saw 1 resumes at 3 and can tell it missed one
+        List<AlertRingBuffer.Entry> resumed = ring.since(1);
+        assertEquals(List.of(3L, 4L, 5L, 6L), resumed.stream().map(AlertRingBuffer.Entry::sequence).toList());
+        assertTrue(ring.since(6).isEmpty());
+    }
+
+    //TEST 2: concurrent publishers get distinct sequences and nothing written last is lost
+    @Test
+    void testPublish_ConcurrentWriters() throws InterruptedException {
+        AlertRingBuffer ring = new AlertRingBuffer(1024);
+        int threads = 4;
+        int perThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String prefix = "T" + t + "-";
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    ring.publish(alert(prefix + i));
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals((long) threads * perThread, ring.lastSequence());
+        List<AlertRingBuffer.Entry> tail = ring.since(0);
+        assertEquals(1024, tail.size());
+        Set<String> messages = new HashSet<>();
+        for (int i = 0; i < tail.size(); i++) {
+            assertEquals(ring.lastSequence() - 1023 + i, tail.get(i).sequence());
+            messages.add(tail.get(i).alert().getMessage());
+        }
+        assertEquals(1024, messages.size());
+    }
+}
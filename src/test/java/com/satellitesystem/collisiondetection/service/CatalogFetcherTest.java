@@ -0,0 +1,186 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//runs the catalog fetcher against a local stub of the Space-Track api
+@SpringBootTest
+class CatalogFetcherTest {
+
+    private static final Pattern RANGE = Pattern.compile("/NORAD_CAT_ID/(\\d+)--(\\d+)/");
+
+    private static final AtomicInteger logins = new AtomicInteger();
+    private static final AtomicInteger queries = new AtomicInteger();
+    //last delta query path seen by the stub
+    private static volatile String lastDeltaPath;
+    //ranges that already got their one throttled (429) response
+    private static final ConcurrentHashMap<String, Boolean> throttled = new ConcurrentHashMap<>();
+    private static final HttpServer stub = startStub();
+
+    @Autowired
+    private CatalogFetcher catalogFetcher;
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private DataResetService resetService;
+
+    @DynamicPropertySource
+    static void stubProperties(DynamicPropertyRegistry registry) {
+        registry.add("nasa.api.url", () -> "http://localhost:" + stub.getAddress().getPort());
+        registry.add("nasa.api.requests-per-minute", () -> "6000");
+        registry.add("nasa.api.retry-backoff-ms", () -> "10");
+        registry.add("nasa.fetch.range-size", () -> "500");
+        registry.add("nasa.fetch.max-norad-id", () -> "2000");
+    }
+
+    @BeforeEach
+    void setUp() {
+        resetService.clearAll();
+        logins.set(0);
+        queries.set(0);
+        throttled.clear();
+        lastDeltaPath = null;
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    //TEST 1: every range is fetched and stored, throttled ranges are retried, one login is shared
+    @Test
+    void testFetchFullCatalog_AllRangesStored() throws Exception {
+        IngestResult result = catalogFetcher.fetchFullCatalog();
+
+        //4 ranges of 3 objects each
+        assertEquals(new IngestResult(12, 0, 0), result);
+        assertEquals(12, satelliteRepository.count());
+        assertEquals(1, logins.get(), "Session should be shared across concurrent range fetches");
+        assertEquals(8, queries.get(), "Each range should be throttled once then retried");
+    }
+
+    //TEST 2: refreshing again is all unchanged
+    @Test
+    void testFetchFullCatalog_SecondRefreshUnchanged() throws Exception {
+        catalogFetcher.fetchFullCatalog();
+        IngestResult result = catalogFetcher.fetchFullCatalog();
+
+        assertEquals(new IngestResult(0, 0, 12), result);
+    }
+
+    //TEST 3: delta refresh asks only for epochs past the high-water mark (less the default 24h margin) and merges them
+    @Test
+    void testFetchDelta_UsesEpochHighWaterMark() throws Exception {
+        catalogFetcher.fetchFullCatalog();
+
+        IngestResult result = catalogFetcher.fetchDelta();
+
+        assertNotNull(lastDeltaPath, "Delta fetch should use the EPOCH query");
+        assertTrue(lastDeltaPath.contains("/EPOCH/%3E2024-10-14T00:00:00.000000/"), lastDeltaPath);
+        //object 1 has a newer element set, object 5001 is new, object 2 is resent with an old epoch
+        assertEquals(new IngestResult(1, 1, 1), result);
+        assertEquals(13, satelliteRepository.count());
+        assertEquals(300.0, satelliteRepository.findByNoradIdIn(List.of("1")).get(0).getLongitude());
+        assertEquals(327.85, satelliteRepository.findByNoradIdIn(List.of("2")).get(0).getLongitude());
+    }
+
+    //TEST 4: rate limiter spaces requests out
+    @Test
+    void testRateLimiter_SpacesRequests() throws Exception {
+        RateLimiter limiter = new RateLimiter(600); //one every 100ms
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        //4 gaps of 100ms, 50ms of slack for sleep/timer jitter
+        assertTrue(elapsedMillis >= 350, "5 requests at 600/min should take about 400ms (at least 350ms allowing for timer jitter), took " + elapsedMillis);
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/ajaxauth/login", exchange -> {
+                logins.incrementAndGet();
+                exchange.getResponseHeaders().add("Set-Cookie", "chocolatechip=stub-session; Path=/");
+                respond(exchange, 200, "\"\"");
+            });
+            server.createContext("/basicspacedata/query", exchange -> {
+                queries.incrementAndGet();
+                String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+                if (cookie == null || !cookie.contains("chocolatechip=stub-session")) {
+                    respond(exchange, 401, "{\"error\":\"not logged in\"}");
+                    return;
+                }
+                String path = exchange.getRequestURI().getRawPath();
+                if (path.contains("/class/gp/EPOCH/")) {
+                    lastDeltaPath = path;
+                    respond(exchange, 200, "["
+                            + record(1, "2024-10-16T06:00:00", 300.0) + ","
+                            + record(2, "2024-10-14T00:00:00", 10.0) + ","
+                            + record(5001, "2024-10-16T06:00:00", 327.85) + "]");
+                    return;
+                }
+                Matcher range = RANGE.matcher(path);
+                if (!range.find()) {
+                    respond(exchange, 400, "{\"error\":\"no range\"}");
+                    return;
+                }
+                if (throttled.putIfAbsent(range.group(1), true) == null) {
+                    respond(exchange, 429, "{\"error\":\"slow down\"}");
+                    return;
+                }
+                int low = Integer.parseInt(range.group(1));
+                StringBuilder json = new StringBuilder("[");
+                for (int id = low; id < low + 3; id++) {
+                    if (id > low) {
+                        json.append(',');
+                    }
+                    json.append(record(id, "2024-10-15T00:00:00", 327.85));
+                }
+                respond(exchange, 200, json.append(']').toString());
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String record(int id, String epoch, double raan) {
+        return "{\"OBJECT_NAME\": \"OBJ-" + id + "\", \"NORAD_CAT_ID\": \"" + id + "\", \"EPOCH\": \"" + epoch
+                + "\", \"INCLINATION\": \"53.05\", \"RA_OF_ASC_NODE\": \"" + raan + "\", \"MEAN_MOTION\": \"15.06\"}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
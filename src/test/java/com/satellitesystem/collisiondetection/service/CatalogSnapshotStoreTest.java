@@ -0,0 +1,60 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    //TEST 1: snapshot written to disk reads back the same satellites and positions
+    @Test
+    void testWriteAndRead_RoundTrip() throws Exception {
+        Satellite iss = new Satellite("ISS (ZARYA)", "25544", 51.6416, 247.4627, 1550.1);
+        iss.setId(7L);
+        iss.setEpoch(LocalDateTime.of(2024, 10, 15, 12, 34, 56, 123456000));
+        iss.setInclination(51.6416);
+        iss.setEccentricity(0.0006703);
+        iss.setMeanMotion(15.50);
+        iss.setPerigee(413.0);
+        iss.setApogee(422.0);
+        Satellite longName = new Satellite("A VERY LONG OBJECT NAME THAT DOES NOT FIT IN FORTY EIGHT BYTES", "44713", -10.0, 20.0, 550.0);
+        longName.setId(9L);
+        List<Satellite> satellites = List.of(iss, longName);
+
+        CatalogSnapshotStore store = new CatalogSnapshotStore(dir.resolve("catalog.snapshot").toString());
+        store.write(new CatalogSnapshot(satellites, SatellitePositions.of(satellites), 3));
+        CatalogSnapshot read = store.read(5);
+
+        assertEquals(2, read.size());
+        assertEquals(5, read.version());
+        Satellite first = read.satellites().get(0);
+        assertEquals(7L, first.getId());
+        assertEquals("ISS (ZARYA)", first.getName());
+        assertEquals("25544", first.getNoradId());
+        assertEquals(247.4627, first.getLongitude());
+        assertEquals(iss.getEpoch(), first.getEpoch());
+        assertEquals(0.0006703, first.getEccentricity());
+        assertEquals(422.0, first.getApogee());
+        assertNull(first.getRaOfAscNode());
+        assertNull(read.satellites().get(1).getEpoch());
+        assertNull(read.satellites().get(1).getPerigee());
+        assertEquals(48, read.satellites().get(1).getName().length());
+        assertEquals(SatellitePositions.of(satellites).distance(0, 1), read.positions().distance(0, 1), 1e-9);
+    }
+
+    //TEST 2: no file yet
+    @Test
+    void testRead_MissingFileReturnsNull() throws Exception {
+        CatalogSnapshotStore store = new CatalogSnapshotStore(dir.resolve("missing.snapshot").toString());
+        assertNull(store.read(0));
+    }
+}
@@ -6,10 +6,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
 import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
 import com.satellitesystem.collisiondetection.model.CollisionPrediction;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,6 +30,12 @@ class CollisionDetectionServiceTest {
     @Autowired
     AlertRepository alertRepository;
 
+    @Autowired
+    private CatalogChangeTracker changeTracker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @BeforeEach
     void setUp() {
         alertRepository.deleteAll();
@@ -159,4 +167,108 @@ class CollisionDetectionServiceTest {
 
         assertEquals(firstCount, secondCount, "Should not accumulate duplicates");
     }
+
+    //TEST 9: grid broad phase finds the same pairs as the brute force reference
+    @Test
+    void testGridMatchesBruteForce() {
+        //cluster of sats straddling cell boundaries plus a few far away ones
+        for (int i = 0; i < 20; i++) {
+            satelliteRepository.save(new Satellite("CLUSTER" + i, "C" + i, 0.01 * i, 0.015 * i, 400.0 + 0.3 * i));
+        }
+        satelliteRepository.save(new Satellite("FAR1", "F1", 45.0, 90.0, 800.0));
+        satelliteRepository.save(new Satellite("FAR2", "F2", -30.0, -120.0, 550.0));
+
+        List<CollisionPrediction> grid = collisionService.detectCollisions(ScreeningMode.GRID);
+        List<CollisionPrediction> bruteForce = collisionService.detectCollisions(ScreeningMode.BRUTE_FORCE);
+
+        assertFalse(grid.isEmpty(), "Cluster should produce collisions");
+        assertEquals(bruteForce.size(), grid.size(), "Grid should find every pair brute force finds");
+        for (int i = 0; i < grid.size(); i++) {
+            assertEquals(bruteForce.get(i).getSatellite1().getId(), grid.get(i).getSatellite1().getId());
+            assertEquals(bruteForce.get(i).getSatellite2().getId(), grid.get(i).getSatellite2().getId());
+            assertEquals(bruteForce.get(i).getMinimumDistance(), grid.get(i).getMinimumDistance(), 1e-9);
+        }
+    }
+
+    //TEST 10: cancelled run throws and keeps the previous run's predictions
+    @Test
+    void testDetectCollisions_CancelledRunKeepsOldResults() {
+        satelliteRepository.save(new Satellite("SAT1", "1", 0.0, 0.0, 400.0));
+        satelliteRepository.save(new Satellite("SAT2", "2", 0.01, 0.01, 400.5));
+        collisionService.detectCollisions();
+        long before = collisionRepository.count();
+
+        ScreeningProgress progress = new ScreeningProgress();
+        progress.cancel();
+
+        assertThrows(CancellationException.class, () -> collisionService.detectCollisions(ScreeningMode.GRID, progress));
+        assertEquals(before, collisionRepository.count(), "Cancelled run should not touch stored predictions");
+    }
+
+    //TEST 11: incremental run only screens changed satellites and keeps unchanged pairs
+    @Test
+    void testDetectCollisions_IncrementalKeepsUnchangedPairs() {
+        satelliteRepository.save(new Satellite("SAT1", "1", 0.0, 0.0, 400.0));
+        satelliteRepository.save(new Satellite("SAT2", "2", 0.01, 0.01, 400.5));
+        satelliteRepository.save(new Satellite("SAT3", "3", 40.0, 40.0, 400.0));
+        collisionService.detectCollisions();
+        CollisionPrediction kept = collisionRepository.findAll().get(0);
+
+        //new satellite next to SAT3, SAT1/SAT2 are untouched
+        satelliteRepository.save(new Satellite("SAT4", "4", 40.01, 40.01, 400.5));
+        List<CollisionPrediction> added = collisionService.detectCollisions(ScreeningMode.INCREMENTAL);
+
+        assertEquals(1, added.size(), "Only the pair involving the new satellite should be screened");
+        assertEquals(2, collisionRepository.count());
+        assertTrue(collisionRepository.existsById(kept.getId()), "Prediction between unchanged satellites should be kept");
+
+        //a full run over the same catalog agrees
+        assertEquals(2, collisionService.detectCollisions(ScreeningMode.BRUTE_FORCE).size());
+    }
+
+    //TEST 12: shell sweep-and-prune finds the same pairs as brute force and reports what it pruned
+    @Test
+    void testSweepMatchesBruteForce() {
+        //low shell cluster with real perigee/apogee, plus objects in higher shells that can never meet it
+        for (int i = 0; i < 20; i++) {
+            Satellite sat = new Satellite("LEO" + i, "L" + i, 0.01 * i, 0.015 * i, 400.0 + 0.3 * i);
+            sat.setPerigee(399.0 + 0.3 * i);
+            sat.setApogee(401.0 + 0.3 * i);
+            satelliteRepository.save(sat);
+        }
+        for (int i = 0; i < 10; i++) {
+            Satellite sat = new Satellite("MEO" + i, "M" + i, 0.01 * i, 0.015 * i, 1200.0 + 50 * i);
+            sat.setPerigee(1150.0 + 50 * i);
+            sat.setApogee(1250.0 + 50 * i);
+            satelliteRepository.save(sat);
+        }
+
+        ScreeningProgress progress = new ScreeningProgress();
+        List<CollisionPrediction> sweep = collisionService.detectCollisions(ScreeningMode.SWEEP, progress);
+        List<CollisionPrediction> bruteForce = collisionService.detectCollisions(ScreeningMode.BRUTE_FORCE);
+
+        assertFalse(sweep.isEmpty(), "Cluster should produce collisions");
+        assertEquals(bruteForce.size(), sweep.size(), "Sweep should find every pair brute force finds");
+        for (int i = 0; i < sweep.size(); i++) {
+            assertEquals(bruteForce.get(i).getSatellite1().getId(), sweep.get(i).getSatellite1().getId());
+            assertEquals(bruteForce.get(i).getSatellite2().getId(), sweep.get(i).getSatellite2().getId());
+        }
+        assertTrue(progress.getPruned().get("shell-sweep") >= 20 * 10, "LEO/MEO pairs should never be generated");
+    }
+
+    //TEST 13: a rolled back write never reaches the change tracker, so incremental runs can't drain it
+    @Test
+    void testRolledBackChangeIsNotRecorded() {
+        satelliteRepository.save(new Satellite("SAT1", "1", 0.0, 0.0, 400.0));
+        collisionService.detectCollisions();
+        long version = changeTracker.version();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            satelliteRepository.saveAndFlush(new Satellite("SAT2", "2", 0.01, 0.01, 400.5));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(version, changeTracker.version(), "Rollback should not move the catalog version");
+        assertFalse(changeTracker.hasPendingChanges(), "Rollback should not leave a change to screen");
+    }
 }
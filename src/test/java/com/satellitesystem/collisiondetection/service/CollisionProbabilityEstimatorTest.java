@@ -0,0 +1,44 @@
+package com.satellitesystem.collisiondetection.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CollisionProbabilityEstimatorTest {
+
+    //defaults: 20 m hard body, 0.1 km radial and 1 km horizontal sigma per object
+    private static final double AREA_OVER_NORMALISATION = 0.02 * 0.02 / (2 * Math.sqrt(2) * 0.1 * Math.sqrt(2) * 1.0);
+
+    @Autowired
+    private CollisionProbabilityEstimator estimator;
+
+    //small disc against the sigmas, density times area is close to exact
+    private static double expected(double radial, double horizontal) {
+        double r = radial / (Math.sqrt(2) * 0.1);
+        double h = horizontal / (Math.sqrt(2) * 1.0);
+        return AREA_OVER_NORMALISATION * Math.exp(-0.5 * (r * r + h * h));
+    }
+
+    //TEST 1: sampled Pc agrees with the small disc approximation and repeats for the same seed
+    @Test
+    void testEstimate_SamplingMatchesAnalytic() {
+        double pc = estimator.estimate(0.5, 0.0, 7);
+
+        assertEquals(expected(0.0, 0.5), pc, 0.15 * expected(0.0, 0.5));
+        assertEquals(pc, estimator.estimate(0.5, 0.0, 7));
+    }
+
+    //TEST 2: a low risk miss takes the analytic path, radial misses count far more than horizontal ones
+    @Test
+    void testEstimate_FastPathAndGeometry() {
+        double horizontal = Math.sqrt(4.9 * 4.9 - 0.5 * 0.5);
+        assertEquals(expected(0.5, horizontal), estimator.estimate(4.9, 0.5, 1), 1e-18);
+
+        double radialMiss = estimator.estimate(0.5, 0.5, 1);
+        double horizontalMiss = estimator.estimate(0.5, 0.0, 1);
+        assertTrue(radialMiss < horizontalMiss / 100, radialMiss + " vs " + horizontalMiss);
+    }
+}
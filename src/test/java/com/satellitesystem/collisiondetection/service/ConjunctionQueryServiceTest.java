@@ -0,0 +1,103 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import com.satellitesystem.collisiondetection.repository.AlertRepository;
+import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ConjunctionQueryServiceTest {
+
+    @Autowired
+    private ConjunctionQueryService queryService;
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private CollisionPredictionRepository collisionRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @BeforeEach
+    void setUp() {
+        alertRepository.deleteAll();
+        collisionRepository.deleteAll();
+        satelliteRepository.deleteAll();
+    }
+
+    //TEST 1: a satellite is screened against the catalog without writing predictions, itself excluded
+    @Test
+    void testScreenSatellite_FindsNeighboursWithoutPersisting() {
+        Satellite sat1 = satelliteRepository.save(new Satellite("SAT1", "1", 0.0, 0.0, 400.0));
+        Satellite sat2 = satelliteRepository.save(new Satellite("SAT2", "2", 0.01, 0.01, 400.5));
+        satelliteRepository.save(new Satellite("FAR", "3", 45.0, 90.0, 400.0));
+        catalogIndex.scheduleRebuild().join();
+
+        ConjunctionQueryResult result = queryService.screenSatellite(sat1.getId(), 5.0);
+
+        assertNotNull(result);
+        assertEquals(1, result.approaches().size());
+        CloseApproach approach = result.approaches().get(0);
+        assertEquals(sat2.getId(), approach.satelliteId());
+        assertEquals(CollisionDetectionService.riskLevel(approach.distance()), approach.riskLevel());
+        assertEquals(0, collisionRepository.count());
+
+        assertNull(queryService.screenSatellite(-1L, 5.0));
+    }
+
+    //TEST 2: a batch of candidate states comes back in order, wider thresholds reach more rings of the grid
+    @Test
+    void testScreenStates_BatchInOrder() {
+        Satellite sat1 = satelliteRepository.save(new Satellite("SAT1", "1", 0.0, 0.0, 400.0));
+        satelliteRepository.save(new Satellite("SAT2", "2", 0.1, 0.0, 400.0));
+        catalogIndex.scheduleRebuild().join();
+
+        List<StateQuery> burns = List.of(
+                new StateQuery("stay", 0.0, 0.0, 400.0, sat1.getId()),
+                new StateQuery("raise", 0.0, 0.0, 430.0, sat1.getId()),
+                new StateQuery("near", 0.05, 0.0, 400.0, null));
+
+        List<ConjunctionQueryResult> results = queryService.screenStates(burns, 20.0);
+
+        assertEquals(List.of("stay", "raise", "near"), results.stream().map(ConjunctionQueryResult::label).toList());
+        //0.1 degrees of latitude at 400 km is about 11.8 km
+        assertEquals(1, results.get(0).approaches().size());
+        assertEquals(11.8, results.get(0).approaches().get(0).distance(), 0.1);
+        assertTrue(results.get(1).approaches().isEmpty());
+        assertEquals(2, results.get(2).approaches().size());
+        assertTrue(results.get(2).approaches().get(0).distance() <= results.get(2).approaches().get(1).distance());
+
+        assertThrows(IllegalArgumentException.class, () -> queryService.screenStates(burns, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> queryService.screenStates(burns, 1000.0));
+    }
+
+    //TEST 3: a catalog change is picked up by the background rebuild, queries in between keep the old index
+    @Test
+    void testQueriesServeCurrentIndexWhileRebuilding() {
+        Satellite sat1 = satelliteRepository.save(new Satellite("SAT1", "1", 0.0, 0.0, 400.0));
+        IndexedCatalog before = catalogIndex.scheduleRebuild().join();
+
+        satelliteRepository.save(new Satellite("SAT2", "2", 0.01, 0.01, 400.5));
+        IndexedCatalog served = catalogIndex.current();
+        assertTrue(served == before || served.snapshot().version() > before.snapshot().version(),
+                "Queries should get a built index, never wait for the new one");
+
+        IndexedCatalog after = catalogIndex.scheduleRebuild().join();
+        assertEquals(2, after.snapshot().size());
+        assertSame(after, catalogIndex.current());
+        assertEquals(1, queryService.screenSatellite(sat1.getId(), 5.0).approaches().size());
+    }
+}
@@ -0,0 +1,119 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ConjunctionScreenerTest {
+
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private ConjunctionScreener screener;
+
+    @Autowired
+    private EphemerisStore ephemerisStore;
+
+    //the ephemeris store caches by catalog version, each test uses its own
+    private static CatalogSnapshot catalog(List<Satellite> satellites, long version) {
+        return new CatalogSnapshot(satellites, SatellitePositions.of(satellites), version);
+    }
+
+    //circular orbit with its element set epoch at the window start
+    private static Satellite orbit(String name, double inclination, double raan, double meanMotion) {
+        Satellite sat = new Satellite(name, name, 0.0, 0.0, 0.0);
+        sat.setInclination(inclination);
+        sat.setRaOfAscNode(raan);
+        sat.setEccentricity(0.0);
+        sat.setArgOfPericenter(0.0);
+        sat.setMeanAnomaly(0.0);
+        sat.setMeanMotion(meanMotion);
+        sat.setEpoch(WINDOW_START);
+        return sat;
+    }
+
+    //TEST 1: two polar orbits half a degree apart in node meet over the pole, TCA is refined between coarse steps
+    @Test
+    void testScreen_FindsPolarCrossingAtTca() {
+        List<Satellite> satellites = List.of(orbit("A", 90.0, 0.0, 15.0), orbit("B", 90.0, 0.5, 15.0));
+
+        ConjunctionResult result = screener.screen(catalog(satellites, -10), WINDOW_START, 3600, 10, 5.0, null, new ScreeningProgress());
+
+        //both reach the pole a quarter orbit in, after the J2 drift of the perigee
+        double n = 15.0 * 2 * Math.PI / 86400.0;
+        double a = OrbitPropagator.semiMajorAxis(15.0);
+        double argPerigeeRate = -0.75 * n * 1.08262668e-3 * Math.pow(6378.137 / a, 2);
+        double expectedSeconds = (Math.PI / 2) / (n + argPerigeeRate);
+
+        assertEquals(1, result.conjunctions().size());
+        Conjunction conjunction = result.conjunctions().get(0);
+        assertEquals(0, conjunction.first());
+        assertEquals(1, conjunction.second());
+        assertTrue(conjunction.distance() < 0.01, "Orbits meet at the pole: " + conjunction.distance());
+        double tcaSeconds = Duration.between(WINDOW_START, conjunction.tca()).toNanos() / 1e9;
+        assertEquals(expectedSeconds, tcaSeconds, 0.01);
+    }
+
+    //TEST 2: orbits in separate shells never get a candidate, objects without elements are left out
+    @Test
+    void testScreen_SeparateShellsAndMissingElements() {
+        Satellite noElements = new Satellite("MANUAL", "M", 0.0, 0.0, 400.0);
+        List<Satellite> satellites = List.of(orbit("LOW", 90.0, 0.0, 15.5), orbit("HIGH", 90.0, 0.5, 12.0), noElements);
+
+        ConjunctionResult result = screener.screen(catalog(satellites, -11), WINDOW_START, 3600, 10, 5.0, null, new ScreeningProgress());
+
+        assertTrue(result.conjunctions().isEmpty());
+    }
+
+    //TEST 3: an incremental screen finds exactly the full screen's conjunctions involving a dirty satellite,
+    //from far fewer candidate pairs
+    @Test
+    void testScreen_DirtyMatchesFullScreen() {
+        List<Satellite> satellites = List.of(orbit("A", 90.0, 0.0, 15.0), orbit("B", 90.0, 0.5, 15.0),
+                orbit("C", 90.0, 120.0, 15.0), orbit("D", 51.6, 30.0, 15.2), orbit("E", 97.5, 200.0, 14.8));
+        ConjunctionResult full = screener.screen(catalog(satellites, -14), WINDOW_START, 3600, 10, 5.0, null, new ScreeningProgress());
+
+        boolean[] dirty = {false, true, false, false, false};
+        ConjunctionResult incremental = screener.screen(catalog(satellites, -14), WINDOW_START, 3600, 10, 5.0, dirty, new ScreeningProgress());
+
+        List<Conjunction> expected = full.conjunctions().stream().filter(c -> c.first() == 1 || c.second() == 1).toList();
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, incremental.conjunctions());
+        assertTrue(incremental.pairsChecked() < full.pairsChecked(), incremental.pairsChecked() + " vs " + full.pairsChecked());
+    }
+
+    //TEST 4: ephemeris is reused while the catalog is unchanged and matches the propagator,
+    //a replaced one is deleted once its last reader closes it
+    @Test
+    void testEphemeris_ReusedUntilCatalogChanges() {
+        List<Satellite> satellites = List.of(orbit("A", 51.6, 10.0, 15.5), orbit("B", 97.5, 200.0, 14.8));
+
+        Ephemeris first = ephemerisStore.get(catalog(satellites, -12), WINDOW_START, 3600, 10);
+        Ephemeris later = ephemerisStore.get(catalog(satellites, -12), WINDOW_START.plusMinutes(30), 3600, 10);
+        try (Ephemeris changed = ephemerisStore.get(catalog(satellites, -13), WINDOW_START.plusMinutes(30), 3600, 10)) {
+            assertSame(first, later, "Same catalog inside the stored window should reuse the ephemeris");
+            assertNotSame(first, changed, "Changed catalog should rebuild");
+
+            double[] state = new double[6];
+            int step = EphemerisStore.stepAt(first, WINDOW_START.plusMinutes(30));
+            first.propagator().stateAt(1, step * 10.0, state);
+            assertEquals(state[0], first.x(step, 1), 0.01);
+            assertEquals(state[2], first.z(step, 1), 0.01);
+
+            first.close();
+            assertTrue(Files.exists(first.file()), "Replaced ephemeris should stay while a reader still holds it");
+            later.close();
+            assertFalse(Files.exists(first.file()), "Replaced ephemeris should be deleted after its last reader");
+            assertTrue(Files.exists(changed.file()), "Current ephemeris should stay for the next run");
+        }
+    }
+}
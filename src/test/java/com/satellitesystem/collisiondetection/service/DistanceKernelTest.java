@@ -0,0 +1,99 @@
+package com.satellitesystem.collisiondetection.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DistanceKernelTest {
+
+    private final DistanceKernel scalar = new ScalarDistanceKernel();
+    private DistanceKernel vector;
+
+    @BeforeEach
+    void setUp() {
+        //surefire starts the jvm with the vector module, a plain IDE run may not
+        assumeTrue(DistanceKernels.vectorModulePresent(), "jdk.incubator.vector not available");
+        vector = DistanceKernels.create("VECTOR");
+    }
+
+    //random positions in a small box so a good share of pairs fall under the threshold
+    private static SatellitePositions randomPositions(int n, double box, long seed) {
+        Random random = new Random(seed);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] z = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble() * box;
+            y[i] = random.nextDouble() * box;
+            z[i] = random.nextDouble() * box;
+        }
+        return SatellitePositions.of(x, y, z);
+    }
+
+    //TEST 1: contiguous blocks, including lengths that leave a scalar tail
+    @Test
+    void testWithinRange_MatchesScalar() {
+        SatellitePositions positions = randomPositions(1000, 60.0, 1);
+        int[] expected = new int[1000];
+        int[] actual = new int[1000];
+        for (int i = 0; i < 1000; i += 37) {
+            for (int length : new int[]{0, 1, 4, 130, 1000}) {
+                int from = i + 1;
+                int to = Math.min(1000, from + length);
+                int expectedCount = scalar.withinRange(positions, i, from, to, 25.0, expected);
+                int actualCount = vector.withinRange(positions, i, from, to, 25.0, actual);
+                assertEquals(expectedCount, actualCount);
+                assertArrayEquals(Arrays.copyOf(expected, expectedCount), Arrays.copyOf(actual, actualCount));
+            }
+        }
+    }
+
+    //TEST 2: scattered candidates go through gather loads
+    @Test
+    void testWithinIndexes_MatchesScalar() {
+        SatellitePositions positions = randomPositions(500, 40.0, 2);
+        Random random = new Random(3);
+        int[] candidates = random.ints(301, 0, 500).toArray();
+        int[] expected = new int[candidates.length];
+        int[] actual = new int[candidates.length];
+        for (int i = 0; i < 500; i += 11) {
+            int expectedCount = scalar.withinIndexes(positions, i, candidates, 3, candidates.length, 25.0, expected);
+            int actualCount = vector.withinIndexes(positions, i, candidates, 3, candidates.length, 25.0, actual);
+            assertArrayEquals(Arrays.copyOf(expected, expectedCount), Arrays.copyOf(actual, actualCount));
+        }
+    }
+
+    //TEST 3: throughput of both kernels over every row of an all-pairs screen
+    //run with: mvn test -Dtest=DistanceKernelTest -Dbenchmark=true (first rounds are JIT warm-up)
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkAllPairs() {
+        SatellitePositions positions = randomPositions(20_000, 20_000.0, 4);
+        long pairs = 20_000L * 19_999 / 2;
+        for (int round = 0; round < 5; round++) {
+            double scalarRate = pairs / secondsForAllRows(scalar, positions);
+            double vectorRate = pairs / secondsForAllRows(vector, positions);
+            System.out.printf("round %d: scalar %.0f Mpairs/s, %s %.0f Mpairs/s, speedup %.2fx%n",
+                    round, scalarRate / 1e6, vector.name(), vectorRate / 1e6, vectorRate / scalarRate);
+        }
+    }
+
+    private static double secondsForAllRows(DistanceKernel kernel, SatellitePositions positions) {
+        int n = positions.size();
+        int[] out = new int[n];
+        long hits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            hits += kernel.withinRange(positions, i, i + 1, n, 25.0, out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertTrue(hits >= 0);
+        return seconds;
+    }
+}
@@ -0,0 +1,117 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Alert;
+import com.satellitesystem.collisiondetection.model.CollisionPrediction;
+import com.satellitesystem.collisiondetection.model.Satellite;
+import com.satellitesystem.collisiondetection.repository.AlertRepository;
+import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//read paths must issue a fixed number of statements however many rows come back (no N+1 on the satellites)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FetchPlanTest {
+
+    //satellites within a few km of each other, every pair is a conjunction
+    private static final int SATELLITES = 6;
+    private static final int PAIRS = SATELLITES * (SATELLITES - 1) / 2;
+
+    @Autowired
+    private CollisionDetectionService collisionService;
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private CollisionPredictionService predictionService;
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private CollisionPredictionRepository collisionRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        alertRepository.deleteAll();
+        collisionRepository.deleteAll();
+        satelliteRepository.deleteAll();
+        for (int i = 0; i < SATELLITES; i++) {
+            satelliteRepository.save(new Satellite("SAT" + i, "N" + i, 0.0, 0.0, 400.0 + i * 0.5));
+        }
+        collisionService.detectCollisions();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    //reads the satellite names too, a lazy proxy would show up as an extra statement here
+    private static void touchSatellites(Alert alert) {
+        assertTrue(Hibernate.isInitialized(alert.getSatellite1()));
+        assertTrue(Hibernate.isInitialized(alert.getSatellite2()));
+        assertNotNull(alert.getSatellite1().getName());
+        assertNotNull(alert.getSatellite2().getName());
+    }
+
+    //TEST 1: alert entity reads are one select each
+    @Test
+    void testAlertReads_ConstantStatements() {
+        List<Alert> recent = alertService.getRecentAlerts();
+        assertEquals(PAIRS, recent.size());
+        recent.forEach(FetchPlanTest::touchSatellites);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        List<Alert> open = alertRepository.findOpenOrResolvedAfter(LocalDateTime.now().minusHours(1));
+        assertEquals(PAIRS, open.size());
+        open.forEach(FetchPlanTest::touchSatellites);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        //select + update
+        statistics.clear();
+        touchSatellites(alertService.acknowledgeAlert(recent.get(0).getId()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        assertEquals(PAIRS, alertService.getAlerts(null, null).items().size());
+        assertEquals(PAIRS - 1, alertService.getUnacknowledgedAlerts(null, null).items().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    //TEST 2: prediction reads are one select each
+    @Test
+    void testPredictionReads_ConstantStatements() {
+        List<CollisionPrediction> predictions = predictionService.getAllPredictions();
+        assertEquals(PAIRS, predictions.size());
+        for (CollisionPrediction prediction : predictions) {
+            assertNotNull(prediction.getSatellite1().getName());
+            assertNotNull(prediction.getSatellite2().getName());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        assertEquals(PAIRS, predictionService.getActivePredictions(null, null).items().size());
+        assertEquals(PAIRS, collisionService.getCollisionCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
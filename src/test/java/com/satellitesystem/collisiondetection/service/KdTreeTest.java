@@ -0,0 +1,79 @@
+package com.satellitesystem.collisiondetection.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KdTreeTest {
+
+    //random positions in a box, every tenth one duplicated so equal coordinates hit the splits
+    private static SatellitePositions randomPositions(int n, double box, long seed) {
+        Random random = new Random(seed);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] z = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (i % 10 == 9) {
+                x[i] = x[i - 1];
+                y[i] = y[i - 1];
+                z[i] = z[i - 1];
+            } else {
+                x[i] = random.nextDouble() * box;
+                y[i] = random.nextDouble() * box;
+                z[i] = random.nextDouble() * box;
+            }
+        }
+        return SatellitePositions.of(x, y, z);
+    }
+
+    //TEST 1: k nearest matches a sorted linear scan, self excluded, ties by lower index
+    @Test
+    void testNearest_MatchesLinearScan() {
+        SatellitePositions positions = randomPositions(2000, 5000.0, 3);
+        KdTree tree = KdTree.of(positions);
+
+        for (int self = 0; self < positions.size(); self += 97) {
+            int query = self;
+            for (int k : new int[]{1, 5, 50, 2500}) {
+                int[] expected = IntStream.range(0, positions.size())
+                        .filter(j -> j != query)
+                        .boxed()
+                        .sorted(Comparator.<Integer>comparingDouble(j -> positions.distanceSquared(query, j))
+                                .thenComparingInt(j -> j))
+                        .limit(k)
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                int[] actual = tree.nearest(positions.x(self), positions.y(self), positions.z(self), k, j -> j == query);
+                assertArrayEquals(expected, actual, "self " + self + ", k " + k);
+            }
+        }
+        assertEquals(0, tree.nearest(0, 0, 0, 0, j -> false).length);
+    }
+
+    //TEST 2: radius query returns exactly the points a linear scan finds
+    @Test
+    void testWithin_MatchesLinearScan() {
+        SatellitePositions positions = randomPositions(2000, 5000.0, 4);
+        KdTree tree = KdTree.of(positions);
+
+        for (int self = 0; self < positions.size(); self += 89) {
+            for (double radius : new double[]{1.0, 300.0, 1500.0}) {
+                int query = self;
+                List<Integer> expected = IntStream.range(0, positions.size())
+                        .filter(j -> positions.distance(query, j) <= radius)
+                        .boxed()
+                        .toList();
+                List<Integer> actual = new ArrayList<>();
+                tree.forEachWithin(positions.x(self), positions.y(self), positions.z(self), radius, actual::add);
+                actual.sort(null);
+                assertEquals(expected, actual, "self " + self + ", radius " + radius);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import com.satellitesystem.collisiondetection.repository.AlertRepository;
+import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class KeysetPagingTest {
+
+    @Autowired
+    private SatelliteService satelliteService;
+
+    @Autowired
+    private CollisionPredictionService predictionService;
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private CollisionDetectionService collisionService;
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private CollisionPredictionRepository collisionRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private KeysetPaging paging;
+
+    @BeforeEach
+    void setUp() {
+        alertRepository.deleteAll();
+        collisionRepository.deleteAll();
+        satelliteRepository.deleteAll();
+    }
+
+    //TEST 1: walking the cursor visits every satellite once in id order, the last page has no cursor
+    @Test
+    void testSatellites_CursorWalksEveryRowOnce() {
+        List<Long> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(satelliteRepository.save(new Satellite("SAT" + i, "N" + i, i * 10.0, 0.0, 500.0)).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        Long after = null;
+        do {
+            KeysetPage<SatelliteSummary> page = satelliteService.getSatellites(after, 2);
+            page.items().forEach(satellite -> seen.add(satellite.id()));
+            pageSizes.add(page.items().size());
+            after = page.nextAfter();
+        } while (after != null);
+
+        assertEquals(saved, seen);
+        assertEquals(List.of(2, 2, 1), pageSizes);
+    }
+
+    //TEST 2: predictions and alerts come back as flat summaries, page sizes are capped
+    @Test
+    void testPredictionsAndAlerts_Summaries() {
+        Satellite sat1 = satelliteRepository.save(new Satellite("SAT1", "1", 0.0, 0.0, 400.0));
+        Satellite sat2 = satelliteRepository.save(new Satellite("SAT2", "2", 0.0, 0.0, 401.0));
+        collisionService.detectCollisions();
+
+        KeysetPage<PredictionSummary> critical = predictionService.getCriticalPredictions(null, null);
+        assertEquals(1, critical.items().size());
+        assertNull(critical.nextAfter());
+        PredictionSummary prediction = critical.items().get(0);
+        assertEquals(sat1.getId(), prediction.satellite1Id());
+        assertEquals("SAT2", prediction.satellite2Name());
+        assertEquals(1.0, prediction.minimumDistance(), 1e-6);
+        assertEquals(critical.items(), predictionService.getActivePredictions(null, null).items());
+
+        KeysetPage<AlertSummary> alerts = alertService.getUnacknowledgedAlerts(null, null);
+        assertEquals(1, alerts.items().size());
+        assertEquals(sat2.getId(), alerts.items().get(0).satellite2Id());
+        assertTrue(alertService.getAlerts(alerts.items().get(0).id(), null).items().isEmpty());
+
+        assertEquals(100, paging.size(null));
+        assertEquals(1000, paging.size(1_000_000));
+    }
+}
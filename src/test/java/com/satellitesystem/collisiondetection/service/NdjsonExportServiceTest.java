@@ -0,0 +1,108 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satellitesystem.collisiondetection.model.Satellite;
+import com.satellitesystem.collisiondetection.repository.AlertRepository;
+import com.satellitesystem.collisiondetection.repository.CollisionPredictionRepository;
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class NdjsonExportServiceTest {
+
+    @Autowired
+    private NdjsonExportService exportService;
+
+    @Autowired
+    private CollisionDetectionService collisionService;
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private CollisionPredictionRepository collisionRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    //remembers what had been written at the first flush
+    private static class RecordingStream extends ByteArrayOutputStream {
+        private String firstFlush;
+
+        @Override
+        public void flush() {
+            if (firstFlush == null) {
+                firstFlush = toString(StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        alertRepository.deleteAll();
+        collisionRepository.deleteAll();
+        satelliteRepository.deleteAll();
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    //TEST 1: one json object per line in id order, the first row is flushed on its own
+    @Test
+    void testExportSatellites_OneRowPerLine() throws Exception {
+        for (int i = 0; i < 25; i++) {
+            satelliteRepository.save(new Satellite("SAT" + i, "N" + i, i, 0.0, 500.0 + i * 100));
+        }
+
+        RecordingStream out = new RecordingStream();
+        assertEquals(25, exportService.exportSatellites(out));
+
+        List<JsonNode> rows = lines(out);
+        assertEquals(25, rows.size());
+        for (int i = 1; i < rows.size(); i++) {
+            assertTrue(rows.get(i).get("id").asLong() > rows.get(i - 1).get("id").asLong());
+        }
+        assertEquals("SAT0", rows.get(0).get("name").asText());
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+        assertEquals(1, out.firstFlush.split("\n").length);
+    }
+
+    //TEST 2: predictions and alerts export as their flat summaries
+    @Test
+    void testExportPredictionsAndAlerts() throws Exception {
+        satelliteRepository.save(new Satellite("SAT1", "1", 0.0, 0.0, 400.0));
+        satelliteRepository.save(new Satellite("SAT2", "2", 0.0, 0.0, 401.0));
+        collisionService.detectCollisions();
+
+        ByteArrayOutputStream predictions = new ByteArrayOutputStream();
+        assertEquals(1, exportService.exportPredictions(predictions));
+        JsonNode prediction = lines(predictions).get(0);
+        assertEquals("SAT1", prediction.get("satellite1Name").asText());
+        assertEquals("CRITICAL", prediction.get("riskLevel").asText());
+
+        ByteArrayOutputStream alerts = new ByteArrayOutputStream();
+        assertEquals(1, exportService.exportAlerts(alerts));
+        assertEquals("SAT2", lines(alerts).get(0).get("satellite2Name").asText());
+    }
+}
@@ -0,0 +1,118 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SatelliteIngestServiceTest {
+
+    @Autowired
+    private SatelliteIngestService ingestService;
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private DataResetService resetService;
+
+    @Autowired
+    private SatelliteFeedReader feedReader;
+
+    @BeforeEach
+    void setUp() {
+        resetService.clearAll();
+    }
+
+    //TEST 1: first load inserts everything
+    @Test
+    void testUpsert_InsertsNewSatellites() {
+        IngestResult result = ingestService.upsert(List.of(
+                new Satellite("SAT1", "1", 51.6, 247.4, 1550.0),
+                new Satellite("SAT2", "2", 53.0, 327.8, 1506.0)));
+
+        assertEquals(new IngestResult(2, 0, 0), result);
+        assertEquals(2, satelliteRepository.count());
+    }
+
+    //TEST 2: reloading the same feed keeps ids and writes nothing
+    @Test
+    void testUpsert_SameFeedIsUnchanged() {
+        ingestService.upsert(List.of(new Satellite("SAT1", "1", 51.6, 247.4, 1550.0)));
+        Long id = satelliteRepository.findAll().get(0).getId();
+
+        IngestResult result = ingestService.upsert(List.of(new Satellite("SAT1", "1", 51.6, 247.4, 1550.0)));
+
+        assertEquals(new IngestResult(0, 0, 1), result);
+        assertEquals(1, satelliteRepository.count());
+        assertEquals(id, satelliteRepository.findAll().get(0).getId(), "Upsert should keep the existing row");
+    }
+
+    //TEST 3: changed elements update in place, new ids are inserted
+    @Test
+    void testUpsert_UpdatesChangedAndInsertsNew() {
+        ingestService.upsert(List.of(
+                new Satellite("SAT1", "1", 51.6, 247.4, 1550.0),
+                new Satellite("SAT2", "2", 53.0, 327.8, 1506.0)));
+
+        IngestResult result = ingestService.upsert(List.of(
+                new Satellite("SAT1", "1", 51.6, 248.0, 1550.0),
+                new Satellite("SAT2", "2", 53.0, 327.8, 1506.0),
+                new Satellite("SAT3", "3", 97.4, 10.0, 1520.0)));
+
+        assertEquals(new IngestResult(1, 1, 1), result);
+        assertEquals(3, satelliteRepository.count());
+        Satellite updated = satelliteRepository.findByNoradIdIn(List.of("1")).get(0);
+        assertEquals(248.0, updated.getLongitude());
+    }
+
+    //TEST 4: streamed feed spanning several batches lands every record once
+    @Test
+    void testFeedReader_StreamsAcrossBatches() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 2500; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"OBJECT_NAME\": \"OBJ-").append(i).append("\", \"NORAD_CAT_ID\": \"").append(i)
+                    .append("\", \"INCLINATION\": \"53.05\", \"RA_OF_ASC_NODE\": \"327.85\", \"MEAN_MOTION\": \"15.06\"}");
+        }
+        json.append(']');
+
+        IngestResult result = feedReader.ingest(new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(new IngestResult(2500, 0, 0), result);
+        assertEquals(2500, satelliteRepository.count());
+    }
+
+    //TEST 5: the db stamp matches one computed from the rows, and a new element set with the same count moves it
+    @Test
+    void testCatalogStamp_SeesNewElementSets() {
+        Satellite sat1 = new Satellite("SAT1", "1", 51.6, 247.4, 1550.0);
+        sat1.setEpoch(LocalDateTime.of(2024, 10, 15, 12, 0, 0, 250_000_000));
+        Satellite sat2 = new Satellite("SAT2", "2", 53.0, 327.8, 1506.0);
+        sat2.setEpoch(LocalDateTime.of(2024, 10, 14, 6, 30));
+        ingestService.upsert(List.of(sat1, sat2));
+
+        CatalogStamp before = satelliteRepository.findCatalogStamp();
+        assertTrue(before.matches(CatalogStamp.of(satelliteRepository.findAll())), before.toString());
+
+        Satellite newer = new Satellite("SAT2", "2", 53.0, 330.0, 1506.0);
+        newer.setEpoch(LocalDateTime.of(2024, 10, 14, 18, 30));
+        ingestService.upsert(List.of(newer));
+
+        CatalogStamp after = satelliteRepository.findCatalogStamp();
+        assertEquals(before.count(), after.count());
+        assertFalse(before.matches(after), "A delta with the same row count should still change the stamp");
+    }
+}
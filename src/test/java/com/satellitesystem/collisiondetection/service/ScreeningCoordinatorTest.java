@@ -0,0 +1,111 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.CollisionPrediction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+//detection itself is mocked so a run can be held open while more triggers arrive
+@SpringBootTest
+class ScreeningCoordinatorTest {
+
+    @Autowired
+    private ScreeningCoordinator coordinator;
+
+    @Autowired
+    private CatalogChangeTracker changeTracker;
+
+    @MockitoBean
+    private CollisionDetectionService collisionDetectionService;
+
+    //TEST 1: triggers on the same catalog share a run, a catalog change queues exactly one follow-up
+    @Test
+    void testTrigger_CoalescesRuns() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(collisionDetectionService.detectCollisions(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.<CollisionPrediction>of();
+        });
+
+        ScreeningRun first = coordinator.trigger(ScreeningMode.GRID);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        ScreeningRun joined = coordinator.trigger(ScreeningMode.GRID);
+        assertSame(first, joined, "Trigger on the same catalog version should join the in-flight run");
+
+        changeTracker.satelliteChanged(1L);
+        ScreeningRun followUp = coordinator.trigger(ScreeningMode.GRID);
+        ScreeningRun sameFollowUp = coordinator.trigger(ScreeningMode.BRUTE_FORCE);
+        assertNotSame(first, followUp, "Trigger after a catalog change should not join the stale run");
+        assertSame(followUp, sameFollowUp, "Only one follow-up run should be queued");
+        assertEquals(ScreeningPhase.QUEUED, followUp.getProgress().getPhase());
+
+        release.countDown();
+        first.getResult().get(10, TimeUnit.SECONDS);
+        followUp.getResult().get(10, TimeUnit.SECONDS);
+
+        verify(collisionDetectionService, times(2)).detectCollisions(any(), any());
+    }
+
+    //TEST 2: a queued follow-up nobody waits for any more is dropped without running
+    @Test
+    void testUnsubscribe_DropsUnwantedFollowUp() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(collisionDetectionService.detectCollisions(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.<CollisionPrediction>of();
+        });
+
+        ScreeningRun first = coordinator.trigger(ScreeningMode.GRID);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        changeTracker.satelliteChanged(1L);
+        ScreeningRun followUp = coordinator.trigger(ScreeningMode.GRID);
+
+        coordinator.unsubscribe(followUp);
+        release.countDown();
+        first.getResult().get(10, TimeUnit.SECONDS);
+
+        assertTrue(followUp.getResult().isCompletedExceptionally());
+        assertEquals(ScreeningPhase.CANCELLED, followUp.getProgress().getPhase());
+        verify(collisionDetectionService, times(1)).detectCollisions(any(), any());
+    }
+
+    //TEST 3: a background submit holds no subscription, the one caller that joined can still cancel the run
+    @Test
+    void testSubmit_DoesNotBlockCancel() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(collisionDetectionService.detectCollisions(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.<CollisionPrediction>of();
+        });
+
+        ScreeningRun first = coordinator.trigger(ScreeningMode.GRID);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        changeTracker.satelliteChanged(1L);
+        ScreeningRun submitted = coordinator.submit(ScreeningMode.INCREMENTAL);
+        ScreeningRun joined = coordinator.trigger(ScreeningMode.INCREMENTAL);
+        assertSame(submitted, joined, "Trigger should join the submitted follow-up");
+
+        coordinator.unsubscribe(joined);
+        release.countDown();
+        first.getResult().get(10, TimeUnit.SECONDS);
+
+        assertTrue(submitted.getResult().isCompletedExceptionally());
+        assertEquals(ScreeningPhase.CANCELLED, submitted.getProgress().getPhase());
+        verify(collisionDetectionService, times(1)).detectCollisions(any(), any());
+    }
+}
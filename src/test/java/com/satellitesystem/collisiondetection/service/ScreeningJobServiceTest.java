@@ -0,0 +1,57 @@
+package com.satellitesystem.collisiondetection.service;
+
+import com.satellitesystem.collisiondetection.model.Satellite;
+import com.satellitesystem.collisiondetection.repository.SatelliteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ScreeningJobServiceTest {
+
+    @Autowired
+    private ScreeningJobService jobService;
+
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+
+    @Autowired
+    private DataResetService resetService;
+
+    @BeforeEach
+    void setUp() {
+        resetService.clearAll();
+    }
+
+    //TEST 1: submitted job runs in the background and exposes its result and counters
+    @Test
+    void testSubmit_RunsToCompletion() throws Exception {
+        satelliteRepository.save(new Satellite("SAT1", "1", 0.0, 0.0, 400.0));
+        satelliteRepository.save(new Satellite("SAT2", "2", 0.01, 0.01, 400.5));
+
+        ScreeningJob job = jobService.submit(ScreeningMode.BRUTE_FORCE);
+        assertNotNull(jobService.getJob(job.getId()));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!job.getPhase().isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        ScreeningJobStatus status = job.toStatus();
+        assertEquals(ScreeningPhase.DONE, status.phase());
+        assertEquals(2, status.satellites());
+        assertEquals(1, status.pairsChecked());
+        assertEquals(1, status.hits());
+        assertEquals(1, job.getResult().size());
+    }
+
+    //TEST 2: unknown job ids
+    @Test
+    void testCancel_UnknownJob() {
+        assertNull(jobService.cancel("no-such-job"));
+        assertNull(jobService.getJob("no-such-job"));
+    }
+}